@@ -0,0 +1,93 @@
+package com.tc.backend.benchmark;
+
+import cn.dev33.satoken.stp.StpUtil;
+import com.tc.backend.entity.SysUser;
+import com.tc.backend.service.AuthUserCache;
+import com.tc.backend.service.SysUserService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolving the logged-in admin for /api/auth/me: through {@link AuthUserCache}, against the
+ * Sa-Token lookup plus the sys_user query it replaces.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuthPathBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private AuthUserCache authUserCache;
+    private SysUserService sysUserService;
+    private String token;
+
+    @Setup
+    public void setUp() throws Exception {
+        context = BenchmarkDatabase.start(0);
+        authUserCache = context.getBean(AuthUserCache.class);
+        sysUserService = context.getBean(SysUserService.class);
+        bind(null);
+        StpUtil.login(1L);
+        token = StpUtil.getTokenValue();
+    }
+
+    @TearDown
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+        context.close();
+    }
+
+    @Benchmark
+    public SysUser cached(Request request) {
+        return authUserCache.currentUser();
+    }
+
+    @Benchmark
+    public SysUser uncached(Request request) {
+        Object loginId = StpUtil.getLoginIdByToken(StpUtil.getTokenValue());
+        return sysUserService.getById(Long.parseLong(loginId.toString()));
+    }
+
+    /**
+     * The admin's request, bound to each benchmark thread the way the servlet container would.
+     */
+    @State(Scope.Thread)
+    public static class Request {
+        @Setup
+        public void setUp(AuthPathBenchmark benchmark) {
+            bind(benchmark.token);
+        }
+
+        @TearDown
+        public void tearDown() {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
+    private static void bind(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/auth/me");
+        if (token != null) {
+            request.addHeader("satoken", token);
+        }
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request, new MockHttpServletResponse()));
+    }
+}
@@ -0,0 +1,58 @@
+package com.tc.backend.benchmark;
+
+import com.tc.backend.entity.Product;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Deterministic catalogue used by every suite, so runs on different machines see the same rows.
+ */
+final class BenchmarkData {
+
+    static final String[] CATEGORIES = {"工业传动", "航空航天", "医疗设备", "液压系统", "精密组件", "汽车零部件"};
+
+    private static final String[] MATERIALS = {"精密", "航空铝合金", "316L不锈钢", "钛合金", "高强度", "Precision"};
+    private static final String[] PARTS = {"齿轮", "阀块组件", "结构件", "轴承座", "法兰", "Shaft", "Bracket", "Housing"};
+
+    // Fixed origin so create_time, and therefore every cursor, is reproducible
+    private static final LocalDateTime ORIGIN = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    private BenchmarkData() {
+    }
+
+    static List<Product> products(int count) {
+        List<Product> products = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            Product p = new Product();
+            p.setId((long) i);
+            p.setName(MATERIALS[i % MATERIALS.length] + PARTS[(i / MATERIALS.length) % PARTS.length] + " " + i);
+            p.setSku(String.format("TC-%06d", i));
+            p.setCategory(CATEGORIES[i % CATEGORIES.length]);
+            p.setPrice(BigDecimal.valueOf(100 + (i * 37L) % 9900, 0));
+            p.setStatus(i % 10 == 0 ? "Out of Stock" : "In Stock");
+            p.setImage("/uploads/ab/" + i + ".jpg");
+            p.setDescription("适用于" + CATEGORIES[(i + 1) % CATEGORIES.length] + "的" + PARTS[i % PARTS.length] + "，公差等级 IT" + (5 + i % 4));
+            p.setSpecs(specs(4 + i % 5, i));
+            p.setIsFeatured(i % 50 == 0);
+            // A few rows share a timestamp so the id tiebreak of the keyset order is exercised
+            p.setCreateTime(ORIGIN.plusMinutes(i - i % 3));
+            p.setUpdateTime(p.getCreateTime());
+            products.add(p);
+        }
+        return products;
+    }
+
+    static Map<String, String> specs(int entries, int seed) {
+        Map<String, String> specs = new LinkedHashMap<>();
+        String[] keys = {"材质", "公差", "表面处理", "硬度", "重量", "尺寸", "工作温度", "认证", "Max pressure", "Finish", "Coating", "Origin"};
+        for (int i = 0; i < entries; i++) {
+            specs.put(keys[i % keys.length] + (i < keys.length ? "" : String.valueOf(i)), "值-" + (seed + i) + " ±0.0" + (i % 9 + 1) + " mm");
+        }
+        return specs;
+    }
+}
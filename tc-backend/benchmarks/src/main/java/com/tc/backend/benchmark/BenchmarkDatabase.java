@@ -0,0 +1,83 @@
+package com.tc.backend.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tc.backend.TcBackendApplication;
+import com.tc.backend.entity.Product;
+import org.flywaydb.core.Flyway;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * An in-memory H2 database in MySQL mode migrated with the application's Flyway scripts and seeded with
+ * {@link BenchmarkData}, plus the application context (without the web server) started on top of it.
+ */
+final class BenchmarkDatabase {
+
+    private BenchmarkDatabase() {
+    }
+
+    static ConfigurableApplicationContext start(int products, String... args) throws Exception {
+        String url = "jdbc:h2:mem:bench" + System.nanoTime()
+                + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=VALUE;DB_CLOSE_DELAY=-1";
+        Flyway.configure().dataSource(url, "sa", "").load().migrate();
+        try (Connection connection = DriverManager.getConnection(url, "sa", "")) {
+            // H2 would store a bound string in a JSON column as a JSON string literal
+            connection.createStatement().execute("ALTER TABLE product ALTER COLUMN specs SET DATA TYPE TEXT");
+            seed(connection, BenchmarkData.products(products));
+        }
+        return new SpringApplicationBuilder(TcBackendApplication.class)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                // As arguments rather than default properties, which application.yml would override
+                .run(Stream.concat(Stream.of("--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.url=" + url,
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.flyway.enabled=false",
+                        "--mybatis-plus.configuration.log-impl=org.apache.ibatis.logging.nologging.NoLoggingImpl",
+                        "--logging.level.root=WARN"), Stream.of(args)).toArray(String[]::new));
+    }
+
+    private static void seed(Connection connection, List<Product> products) throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        connection.createStatement().execute("DELETE FROM product");
+        // One commit for the whole catalogue; a commit per row dominates seeding the larger sizes
+        connection.setAutoCommit(false);
+        try (PreparedStatement ps = connection.prepareStatement(
+                "INSERT INTO product (id, name, sku, category, price, status, image, description, specs, is_featured, create_time, update_time) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+            int pending = 0;
+            for (Product p : products) {
+                ps.setLong(1, p.getId());
+                ps.setString(2, p.getName());
+                ps.setString(3, p.getSku());
+                ps.setString(4, p.getCategory());
+                ps.setBigDecimal(5, p.getPrice());
+                ps.setString(6, p.getStatus());
+                ps.setString(7, p.getImage());
+                ps.setString(8, p.getDescription());
+                ps.setString(9, mapper.writeValueAsString(p.getSpecs()));
+                ps.setBoolean(10, p.getIsFeatured());
+                ps.setTimestamp(11, Timestamp.valueOf(p.getCreateTime()));
+                ps.setTimestamp(12, Timestamp.valueOf(p.getUpdateTime()));
+                ps.addBatch();
+                if (++pending == 500) {
+                    ps.executeBatch();
+                    pending = 0;
+                }
+            }
+            ps.executeBatch();
+        }
+        connection.commit();
+        connection.setAutoCommit(true);
+        connection.createStatement().execute("ALTER TABLE product ALTER COLUMN id RESTART WITH " + (products.size() + 1));
+    }
+}
@@ -0,0 +1,119 @@
+package com.tc.backend.benchmark;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.tc.backend.common.SeekCursor;
+import com.tc.backend.common.SeekPager;
+import com.tc.backend.entity.Product;
+import com.tc.backend.mapper.ProductMapper;
+import com.tc.backend.service.ProductCatalogIndex;
+import com.tc.backend.service.ProductSearchService;
+import com.tc.backend.service.ProductService;
+import com.tc.backend.service.impl.LikeProductSearchService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Product listing and search against the seeded H2 catalogue: OFFSET paging on the database versus
+ * keyset paging versus the in-memory index, and the inverted-index search versus name LIKE.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class CatalogQueryBenchmark {
+
+    private static final int PAGE_SIZE = 12;
+
+    // One query for both engines: the 316L stainless gears
+    private static final String QUERY = "不锈钢齿轮";
+
+    // A million rows needs more heap than the fork is given here; raise -Xmx and pass -p products=1000000
+    @Param({"10000", "100000", "300000"})
+    int products;
+
+    // How deep into the listing the page sits: the first, middle or last page of the catalogue
+    @Param({"first", "middle", "last"})
+    String depth;
+
+    private ConfigurableApplicationContext context;
+    private ProductService productService;
+    private ProductCatalogIndex catalogIndex;
+    private ProductSearchService invertedSearch;
+    private ProductSearchService likeSearch;
+    private int pageNumber;
+    private String cursor;
+
+    @Setup
+    public void setUp() throws Exception {
+        context = BenchmarkDatabase.start(products);
+        productService = context.getBean(ProductService.class);
+        catalogIndex = context.getBean(ProductCatalogIndex.class);
+        invertedSearch = context.getBean(ProductSearchService.class);
+        likeSearch = new LikeProductSearchService(context.getBean(ProductMapper.class));
+
+        int pages = (products + PAGE_SIZE - 1) / PAGE_SIZE;
+        pageNumber = switch (depth) {
+            case "middle" -> pages / 2;
+            case "last" -> pages;
+            default -> 1;
+        };
+        // Cursor pointing just before the requested page, as a client paging forward would hold
+        int skip = (pageNumber - 1) * PAGE_SIZE;
+        if (skip > 0) {
+            Product last = productService.list(new LambdaQueryWrapper<Product>()
+                    .orderByDesc(Product::getCreateTime).orderByDesc(Product::getId)
+                    .last("LIMIT 1 OFFSET " + (skip - 1))).get(0);
+            cursor = new SeekCursor(last.getCreateTime(), last.getId()).encode();
+        }
+        catalogIndex.all();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<Product> offsetPage() {
+        return productService.page(new Page<>(pageNumber, PAGE_SIZE), new LambdaQueryWrapper<Product>()
+                .orderByDesc(Product::getCreateTime));
+    }
+
+    @Benchmark
+    public Object keysetPage() {
+        return SeekPager.seek(productService, new LambdaQueryWrapper<>(),
+                Product::getCreateTime, Product::getId, cursor, PAGE_SIZE, false);
+    }
+
+    @Benchmark
+    public Object indexPage() {
+        return catalogIndex.page(pageNumber, PAGE_SIZE, null, null);
+    }
+
+    @Benchmark
+    public List<Long> searchInverted() {
+        return invertedSearch.search(QUERY);
+    }
+
+    @Benchmark
+    public List<Long> searchLike() {
+        return likeSearch.search(QUERY);
+    }
+}
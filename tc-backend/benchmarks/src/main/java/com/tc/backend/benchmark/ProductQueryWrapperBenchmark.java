@@ -0,0 +1,67 @@
+package com.tc.backend.benchmark;
+
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import com.tc.backend.entity.Product;
+import org.apache.ibatis.builder.MapperBuilderAssistant;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.StringUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building the product listing query the way ProductController.list did before the catalogue
+ * index, with and without rendering the SQL segment (where the lambda columns get resolved).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductQueryWrapperBenchmark {
+
+    private String category = BenchmarkData.CATEGORIES[0];
+    private String search = "齿轮";
+    private Boolean featured = Boolean.TRUE;
+
+    @Setup
+    public void setUp() {
+        TableInfoHelper.initTableInfo(new MapperBuilderAssistant(new MybatisConfiguration(), ""), Product.class);
+    }
+
+    @Benchmark
+    public LambdaQueryWrapper<Product> build() {
+        return listWrapper();
+    }
+
+    @Benchmark
+    public String buildAndRender() {
+        return listWrapper().getCustomSqlSegment();
+    }
+
+    private LambdaQueryWrapper<Product> listWrapper() {
+        LambdaQueryWrapper<Product> wrapper = new LambdaQueryWrapper<>();
+        if (StringUtils.hasText(category)) {
+            wrapper.eq(Product::getCategory, category);
+        }
+        if (StringUtils.hasText(search)) {
+            wrapper.like(Product::getName, search);
+        }
+        if (featured != null) {
+            wrapper.eq(Product::getIsFeatured, featured);
+        }
+        wrapper.orderByDesc(Product::getCreateTime);
+        return wrapper;
+    }
+}
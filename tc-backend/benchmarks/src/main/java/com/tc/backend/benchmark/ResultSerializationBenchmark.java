@@ -0,0 +1,54 @@
+package com.tc.backend.benchmark;
+
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tc.backend.common.Result;
+import com.tc.backend.entity.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Wrapping a product page in {@link Result} and writing it with an ObjectMapper configured like
+ * the application's (spring.jackson.* in application.yml).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResultSerializationBenchmark {
+
+    @Param({"10", "50"})
+    int size;
+
+    private ObjectMapper objectMapper;
+    private Page<Product> page;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .timeZone("GMT+8")
+                .simpleDateFormat("yyyy-MM-dd HH:mm:ss")
+                .build();
+        page = new Page<>(1, size, 5000);
+        page.setRecords(BenchmarkData.products(size));
+    }
+
+    @Benchmark
+    public byte[] successPage() throws Exception {
+        return objectMapper.writeValueAsBytes(Result.success(page));
+    }
+}
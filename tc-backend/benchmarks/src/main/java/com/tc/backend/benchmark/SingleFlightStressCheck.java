@@ -0,0 +1,116 @@
+package com.tc.backend.benchmark;
+
+import com.tc.backend.service.ProductService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.search.Search;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongConsumer;
+
+/**
+ * Hammers one product from a rising number of threads, once through ProductService.getById and
+ * once straight through the mapper, and prints how many calls each made and how many queries
+ * reached the database. Coalesced, the query count stays about where a single thread puts it;
+ * the check exits non-zero if it grows past twice that:
+ *   mvn -Pbenchmarks test-compile exec:exec@single-flight
+ */
+public final class SingleFlightStressCheck {
+
+    private static final int PRODUCTS = 1_000;
+    private static final long PRODUCT_ID = 42L;
+    private static final int[] THREADS = {1, 4, 16, 64, 256};
+    private static final long DURATION_MS = 2_000;
+
+    private SingleFlightStressCheck() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        boolean flat = true;
+        try (ConfigurableApplicationContext context = BenchmarkDatabase.start(PRODUCTS,
+                // Hundreds of threads queue for the pool on the direct path; that is the point, not a slow query
+                "--logging.level.com.tc.backend.config.SqlMetricsInterceptor=ERROR")) {
+            ProductService products = context.getBean(ProductService.class);
+            MeterRegistry registry = context.getBean(MeterRegistry.class);
+            // Warm up both paths so class loading and JIT do not land in the first row
+            run(8, 500, id -> products.getById(id));
+            run(8, 500, id -> products.getBaseMapper().selectById(id));
+
+            System.out.printf("%8s %14s %14s %14s %14s %12s%n",
+                    "threads", "direct calls", "direct queries", "shared calls", "shared queries", "collapsed");
+            long baseline = -1;
+            for (int threads : THREADS) {
+                long queriesBefore = queries(registry);
+                long directCalls = run(threads, DURATION_MS, id -> products.getBaseMapper().selectById(id));
+                long directQueries = queries(registry) - queriesBefore;
+
+                queriesBefore = queries(registry);
+                long collapsedBefore = collapsed(registry);
+                long sharedCalls = run(threads, DURATION_MS, id -> products.getById(id));
+                long sharedQueries = queries(registry) - queriesBefore;
+                long collapsed = collapsed(registry) - collapsedBefore;
+
+                System.out.printf("%8d %14d %14d %14d %14d %12d%n",
+                        threads, directCalls, directQueries, sharedCalls, sharedQueries, collapsed);
+                if (baseline < 0) {
+                    baseline = sharedQueries;
+                } else if (sharedQueries > baseline * 2) {
+                    flat = false;
+                }
+            }
+        }
+        if (!flat) {
+            System.out.println("Coalesced query count grew with concurrency");
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Calls made by the threads, started together, over the duration.
+     */
+    private static long run(int threads, long durationMillis, LongConsumer call) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicLong calls = new AtomicLong();
+        List<Thread> workers = new ArrayList<>(threads);
+        long[] deadline = new long[1];
+        for (int i = 0; i < threads; i++) {
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                long n = 0;
+                while (System.nanoTime() < deadline[0]) {
+                    call.accept(PRODUCT_ID);
+                    n++;
+                }
+                calls.addAndGet(n);
+            });
+            worker.start();
+            workers.add(worker);
+        }
+        deadline[0] = System.nanoTime() + durationMillis * 1_000_000;
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        return calls.get();
+    }
+
+    private static long queries(MeterRegistry registry) {
+        return Search.in(registry).name("tc.sql").tag("statement", "ProductMapper.selectById").timers().stream()
+                .mapToLong(timer -> timer.count())
+                .sum();
+    }
+
+    private static long collapsed(MeterRegistry registry) {
+        return (long) Search.in(registry).name("tc.singleflight.calls").tag("name", "product").tag("outcome", "collapsed")
+                .counters().stream()
+                .mapToDouble(counter -> counter.count())
+                .sum();
+    }
+}
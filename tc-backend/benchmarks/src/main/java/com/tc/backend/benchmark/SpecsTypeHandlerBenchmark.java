@@ -0,0 +1,73 @@
+package com.tc.backend.benchmark;
+
+import com.baomidou.mybatisplus.extension.handlers.JacksonTypeHandler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The JSON conversion MyBatis-Plus does for Product.specs on every row read and every write.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SpecsTypeHandlerBenchmark {
+
+    @Param({"4", "12"})
+    int entries;
+
+    private SpecsHandler handler;
+    private Map<String, String> specs;
+    private String json;
+
+    @Setup
+    public void setUp() {
+        handler = new SpecsHandler();
+        specs = BenchmarkData.specs(entries, 42);
+        json = handler.write(specs);
+    }
+
+    @Benchmark
+    public Object read() {
+        return handler.read(json);
+    }
+
+    @Benchmark
+    public String write() {
+        return handler.write(specs);
+    }
+
+    @Benchmark
+    public Object roundTrip() {
+        return handler.read(handler.write(specs));
+    }
+
+    // Same construction MyBatis-Plus uses for the field (its java type), with the conversions made reachable
+    static final class SpecsHandler extends JacksonTypeHandler {
+        SpecsHandler() {
+            super(Map.class);
+        }
+
+        Object read(String value) {
+            return parse(value);
+        }
+
+        String write(Object value) {
+            return toJson(value);
+        }
+    }
+}
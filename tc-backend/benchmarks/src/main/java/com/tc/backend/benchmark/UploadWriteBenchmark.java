@@ -0,0 +1,100 @@
+package com.tc.backend.benchmark;
+
+import com.tc.backend.common.UploadResult;
+import com.tc.backend.service.UploadStorageService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The FileController.upload write path: hash while copying to a temp file, move to the
+ * content-addressed name and, for images, render the variants. Every invocation changes a few
+ * bytes so it really writes instead of hitting an existing hash. Files go under ./uploads, which
+ * the exec:exec@jmh run points at target/jmh.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UploadWriteBenchmark {
+
+    private UploadStorageService storage;
+    private byte[] photo;
+    private long counter;
+
+    @Setup
+    public void setUp() throws Exception {
+        storage = new UploadStorageService(2, 32, 40_000_000);
+        photo = photo(1600, 1200);
+    }
+
+    @TearDown
+    public void tearDown() {
+        storage.shutdown();
+    }
+
+    @Benchmark
+    public UploadResult document(Document document) throws Exception {
+        return storage.store(new ByteArrayInputStream(stamp(document.data, 0)), "spec-sheet.pdf");
+    }
+
+    @Benchmark
+    public UploadResult photo() throws Exception {
+        // The stamp goes after the JPEG end marker, where decoders ignore it
+        return storage.store(new ByteArrayInputStream(stamp(photo, photo.length - Long.BYTES)), "part.jpg");
+    }
+
+    private byte[] stamp(byte[] data, int offset) {
+        ByteBuffer.wrap(data).putLong(offset, ++counter ^ System.nanoTime());
+        return data;
+    }
+
+    @State(Scope.Benchmark)
+    public static class Document {
+        @Param({"65536", "4194304"})
+        int bytes;
+
+        byte[] data;
+
+        @Setup
+        public void setUp() {
+            data = new byte[bytes];
+            Arrays.fill(data, (byte) 'x');
+        }
+    }
+
+    private static byte[] photo(int width, int height) throws Exception {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        g.setPaint(new GradientPaint(0, 0, Color.DARK_GRAY, width, height, Color.ORANGE));
+        g.fillRect(0, 0, width, height);
+        g.dispose();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "jpg", out);
+        // Room for the per-invocation stamp
+        out.write(new byte[Long.BYTES]);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,45 @@
+#!/bin/bash
+# Runs list-and-submit.js against the platform-thread build and the virtual-thread build in turn
+# and keeps each k6 summary under target/loadtest/.
+#
+#   PLATFORM_JAR=target/tc-backend-0.0.1-SNAPSHOT.jar \
+#   VIRTUAL_JAR=target-java21/tc-backend-0.0.1-SNAPSHOT.jar JAVA21=/usr/lib/jvm/java-21/bin/java \
+#   RATE=400 loadtest/compare.sh
+#
+# The virtual build comes from `mvn -Pjava21 package` on a JDK 21. Both runs hit the database
+# configured in application.yml (or SPRING_DATASOURCE_* in the environment), so reset it between
+# runs if inquiry volume matters.
+set -euo pipefail
+cd "$(dirname "$0")/.."
+
+PORT=${PORT:-8080}
+JAVA17=${JAVA17:-java}
+JAVA21=${JAVA21:-java}
+OUT=target/loadtest
+mkdir -p "$OUT"
+
+run_mode() {
+  local mode=$1 java=$2 jar=$3; shift 3
+  echo "== $mode"
+  "$java" -jar "$jar" --server.port="$PORT" "$@" > "$OUT/$mode-app.log" 2>&1 &
+  local pid=$!
+  trap 'kill $pid 2>/dev/null || true' RETURN
+  for _ in $(seq 1 60); do
+    curl -sf "http://localhost:$PORT/api/products?size=1" > /dev/null && break
+    sleep 1
+  done
+  # Warm up the JIT and the caches before measuring
+  k6 run -q -e BASE_URL="http://localhost:$PORT" -e RATE=50 -e DURATION=15s loadtest/list-and-submit.js > /dev/null
+  k6 run -e BASE_URL="http://localhost:$PORT" --summary-export "$OUT/$mode.json" loadtest/list-and-submit.js \
+    | tee "$OUT/$mode.txt"
+  kill "$pid"
+  wait "$pid" 2>/dev/null || true
+}
+
+run_mode platform "$JAVA17" "${PLATFORM_JAR:?}"
+run_mode virtual "$JAVA21" "${VIRTUAL_JAR:?}" --spring.profiles.active=virtual
+
+for mode in platform virtual; do
+  echo "$mode:"
+  grep -E 'http_req_duration\{endpoint|http_reqs\{endpoint' "$OUT/$mode.txt" || true
+done
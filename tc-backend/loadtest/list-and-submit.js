@@ -0,0 +1,62 @@
+// k6 script: product listing and contact submission under a fixed arrival rate.
+//   k6 run -e BASE_URL=http://localhost:8080 -e RATE=400 loadtest/list-and-submit.js
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const RATE = parseInt(__ENV.RATE || '400', 10);
+const DURATION = __ENV.DURATION || '60s';
+
+export const options = {
+  summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+  scenarios: {
+    products_list: {
+      executor: 'constant-arrival-rate',
+      exec: 'productsList',
+      rate: RATE,
+      timeUnit: '1s',
+      duration: DURATION,
+      preAllocatedVUs: 200,
+      maxVUs: 2000,
+      tags: { endpoint: 'products_list' },
+    },
+    contact_submit: {
+      executor: 'constant-arrival-rate',
+      exec: 'contactSubmit',
+      rate: Math.max(1, Math.floor(RATE / 4)),
+      timeUnit: '1s',
+      duration: DURATION,
+      preAllocatedVUs: 50,
+      maxVUs: 500,
+      tags: { endpoint: 'contact_submit' },
+    },
+  },
+  thresholds: {
+    'http_req_duration{endpoint:products_list}': ['p(99)>=0'],
+    'http_req_duration{endpoint:contact_submit}': ['p(99)>=0'],
+    'http_reqs{endpoint:products_list}': ['count>=0'],
+    'http_reqs{endpoint:contact_submit}': ['count>=0'],
+  },
+};
+
+export function productsList() {
+  const page = 1 + Math.floor(Math.random() * 5);
+  const res = http.get(`${BASE_URL}/api/products?page=${page}&size=12`);
+  check(res, { 'list 200': (r) => r.status === 200 });
+}
+
+export function contactSubmit() {
+  const body = JSON.stringify({
+    name: `load-${__VU}-${__ITER}`,
+    phone: '13800000000',
+    email: `load-${__VU}-${__ITER}@example.com`,
+    content: 'load test inquiry',
+  });
+  // A distinct client address per iteration, so the per-IP limiter measures as many users rather
+  // than throttling one (honoured when the target trusts the forwarding address, e.g. localhost)
+  const ip = `10.${(__VU >> 8) & 255}.${__VU & 255}.${__ITER % 250 + 1}`;
+  const headers = { 'Content-Type': 'application/json', 'X-Forwarded-For': ip };
+  const res = http.post(`${BASE_URL}/api/contact`, body, { headers });
+  // 429 means the ingest queue or the rate limiter pushed back, an expected answer under overload
+  check(res, { 'submit accepted': (r) => r.status === 200 || r.status === 429 });
+}
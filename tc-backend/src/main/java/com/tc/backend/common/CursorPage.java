@@ -0,0 +1,16 @@
+package com.tc.backend.common;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * One keyset page. {@code total} is only filled in when the caller asked for a count.
+ */
+@Data
+public class CursorPage<T> {
+    private List<T> records;
+    private String nextCursor;
+    private boolean hasMore;
+    private Long total;
+}
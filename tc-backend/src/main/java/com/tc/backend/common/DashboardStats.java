@@ -0,0 +1,23 @@
+package com.tc.backend.common;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Counters behind /api/stats. Day keys are ISO dates (yyyy-MM-dd), newest last.
+ */
+@Data
+public class DashboardStats {
+    private long inquiryTotal;
+    private Map<String, Long> inquiriesByStatus;
+    // day -> status -> count, limited to the requested number of days
+    private Map<String, Map<String, Long>> inquiriesByDay;
+    // category / status / isFeatured -> value -> count
+    private Map<String, Map<String, Long>> products;
+    private long caseTotal;
+    private Map<String, Long> casesByIndustry;
+    // Last time the counters were checked against the database
+    private LocalDateTime reconciledAt;
+}
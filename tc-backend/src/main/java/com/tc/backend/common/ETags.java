@@ -0,0 +1,34 @@
+package com.tc.backend.common;
+
+/**
+ * If-None-Match evaluation shared by the endpoints that answer conditional GETs.
+ */
+public final class ETags {
+
+    private static final String WEAK = "W/";
+
+    private ETags() {
+    }
+
+    /**
+     * Whether the header lists {@code etag} or is {@code *}. Comparison is weak, as RFC 9110
+     * requires for If-None-Match: a W/ prefix on either side is ignored.
+     */
+    public static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || etag == null) {
+            return false;
+        }
+        String opaque = opaque(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || opaque(tag).equals(opaque)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String opaque(String tag) {
+        return tag.startsWith(WEAK) ? tag.substring(WEAK.length()) : tag;
+    }
+}
@@ -0,0 +1,27 @@
+package com.tc.backend.common;
+
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.Map;
+
+/**
+ * A page that also carries facet counts, so a listing and its filter sidebar come back together.
+ * Serializes like {@link Page} with the extra fields alongside.
+ */
+@Getter
+@Setter
+public class FacetedPage<T> extends Page<T> {
+
+    // category / status / isFeatured -> value -> number of products in the whole catalogue
+    private Map<String, Map<String, Long>> facets;
+
+    // spec key -> spec value -> number of matching products
+    private Map<String, Map<String, Integer>> specFacets;
+
+    public FacetedPage(Page<T> page) {
+        super(page.getCurrent(), page.getSize(), page.getTotal());
+        setRecords(page.getRecords());
+    }
+}
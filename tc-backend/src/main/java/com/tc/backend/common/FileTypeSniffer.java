@@ -0,0 +1,76 @@
+package com.tc.backend.common;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Identifies allowed upload types from their leading bytes rather than the client's filename.
+ */
+public final class FileTypeSniffer {
+
+    /** Bytes needed to recognise every supported type. */
+    public static final int HEADER_BYTES = 16;
+
+    private FileTypeSniffer() {
+    }
+
+    /**
+     * Returns the extension (with dot) for a recognised header, or null if the type is not allowed.
+     */
+    public static String extensionOf(byte[] header, int length) {
+        if (startsWith(header, length, 0xFF, 0xD8, 0xFF)) {
+            return ".jpg";
+        }
+        if (startsWith(header, length, 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A)) {
+            return ".png";
+        }
+        if (startsWith(header, length, 'G', 'I', 'F', '8')) {
+            return ".gif";
+        }
+        if (startsWith(header, length, 'R', 'I', 'F', 'F') && ascii(header, length, 8, "WEBP")) {
+            return ".webp";
+        }
+        if (startsWith(header, length, 'B', 'M')) {
+            return ".bmp";
+        }
+        if (startsWith(header, length, '%', 'P', 'D', 'F', '-')) {
+            return ".pdf";
+        }
+        // Also covers docx/xlsx, which are zip containers
+        if (startsWith(header, length, 'P', 'K', 0x03, 0x04)) {
+            return ".zip";
+        }
+        // AutoCAD drawings start with a version tag such as AC1032
+        if (startsWith(header, length, 'A', 'C', '1')) {
+            return ".dwg";
+        }
+        if (ascii(header, length, 0, "ISO-10303-21")) {
+            return ".step";
+        }
+        return null;
+    }
+
+    private static boolean startsWith(byte[] header, int length, int... magic) {
+        if (length < magic.length) {
+            return false;
+        }
+        for (int i = 0; i < magic.length; i++) {
+            if ((header[i] & 0xFF) != magic[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean ascii(byte[] header, int length, int offset, String text) {
+        byte[] expected = text.getBytes(StandardCharsets.US_ASCII);
+        if (length < offset + expected.length) {
+            return false;
+        }
+        for (int i = 0; i < expected.length; i++) {
+            if (header[offset + i] != expected[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,25 @@
+package com.tc.backend.common;
+
+import com.tc.backend.entity.Category;
+import com.tc.backend.entity.ContentItem;
+import com.tc.backend.entity.Product;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Everything the homepage needs in one payload. Parts that failed or ran past the deadline are
+ * left null and listed in {@code degraded}; {@code timings} holds each sub-query's duration in ms.
+ */
+@Data
+public class HomeBootstrap {
+    private List<Product> featuredProducts;
+    private Map<String, List<ContentItem>> sections = new LinkedHashMap<>();
+    private List<ContentItem> globalConfig;
+    private List<Category> categories;
+    private Map<String, Double> timings = new LinkedHashMap<>();
+    private List<String> degraded = new ArrayList<>();
+}
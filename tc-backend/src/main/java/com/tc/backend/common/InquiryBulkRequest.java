@@ -0,0 +1,32 @@
+package com.tc.backend.common;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * A change applied to many inquiries at once. Rows are picked by {@code ids}, by {@code filter},
+ * or by both (rows must then match both); at least one criterion is required. {@code action} is
+ * {@code status}, setting {@code status} on each row, or {@code delete}. With {@code dryRun} the
+ * counts are computed and nothing is written.
+ */
+@Data
+public class InquiryBulkRequest {
+    private String action;
+    private String status;
+    private List<Long> ids;
+    private Filter filter;
+    private boolean dryRun;
+
+    /**
+     * {@code from} and {@code to} are inclusive creation dates.
+     */
+    @Data
+    public static class Filter {
+        private String status;
+        private LocalDate from;
+        private LocalDate to;
+        private String email;
+    }
+}
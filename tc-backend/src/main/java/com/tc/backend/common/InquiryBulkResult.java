@@ -0,0 +1,17 @@
+package com.tc.backend.common;
+
+import lombok.Data;
+
+/**
+ * Outcome of a bulk inquiry change: {@code matched} rows met the criteria, {@code affected} were
+ * (or, in a dry run, would be) changed; a status change skips rows already in that status.
+ */
+@Data
+public class InquiryBulkResult {
+    private String action;
+    private boolean dryRun;
+    private int matched;
+    private int affected;
+    private int statements;
+    private long tookMs;
+}
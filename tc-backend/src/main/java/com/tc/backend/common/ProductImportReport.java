@@ -0,0 +1,30 @@
+package com.tc.backend.common;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a bulk product import. {@code line} in an error is the line of the body the row
+ * started on (the CSV header is line 1). Only the first errors are listed; {@code failed} counts all.
+ */
+@Data
+public class ProductImportReport {
+    private int received;
+    private int inserted;
+    private int updated;
+    private int failed;
+    private List<RowError> errors = new ArrayList<>();
+    private boolean errorsTruncated;
+    private long tookMs;
+
+    @Data
+    @AllArgsConstructor
+    public static class RowError {
+        private long line;
+        private String sku;
+        private String message;
+    }
+}
@@ -0,0 +1,86 @@
+package com.tc.backend.common;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter that forgets. Entries go into the current generation and are still found through
+ * the previous one, so an entry is remembered for between one and two rotation periods. Bits are
+ * set with atomic ORs; only swapping generations takes a lock.
+ */
+public class RotatingBloomFilter {
+
+    private final int bits;
+    private final int hashes;
+    private final long periodNanos;
+
+    private volatile AtomicLongArray current;
+    private volatile AtomicLongArray previous;
+    private volatile long rotatedAt;
+
+    /**
+     * @param expected entries added per period that the false-positive rate is sized for
+     * @param fpp      false-positive probability at that load
+     */
+    public RotatingBloomFilter(long expected, double fpp, Duration period) {
+        long m = (long) Math.ceil(-expected * Math.log(fpp) / (Math.log(2) * Math.log(2)));
+        this.bits = (int) Math.min(Integer.MAX_VALUE - 63, Math.max(64, (m + 63) / 64 * 64));
+        this.hashes = Math.max(1, (int) Math.round((double) bits / expected * Math.log(2)));
+        this.periodNanos = period.toNanos();
+        this.current = new AtomicLongArray(bits / 64);
+        this.previous = new AtomicLongArray(bits / 64);
+        this.rotatedAt = System.nanoTime();
+    }
+
+    /**
+     * Whether the entry given by two independent 64-bit hashes was (probably) added within the
+     * last one to two periods.
+     */
+    public boolean mightContain(long h1, long h2) {
+        rotateIfDue();
+        AtomicLongArray cur = current;
+        AtomicLongArray prev = previous;
+        boolean inCurrent = true;
+        boolean inPrevious = true;
+        for (int i = 0; i < hashes && (inCurrent || inPrevious); i++) {
+            int bit = bit(h1, h2, i);
+            long mask = 1L << bit;
+            inCurrent &= (cur.get(bit >>> 6) & mask) != 0;
+            inPrevious &= (prev.get(bit >>> 6) & mask) != 0;
+        }
+        return inCurrent || inPrevious;
+    }
+
+    /**
+     * Adds the entry given by two independent 64-bit hashes to the current generation.
+     */
+    public void add(long h1, long h2) {
+        rotateIfDue();
+        AtomicLongArray cur = current;
+        for (int i = 0; i < hashes; i++) {
+            int bit = bit(h1, h2, i);
+            long mask = 1L << bit;
+            cur.getAndAccumulate(bit >>> 6, mask, (a, b) -> a | b);
+        }
+    }
+
+    private int bit(long h1, long h2, int i) {
+        return (int) (((h1 + i * h2) & Long.MAX_VALUE) % bits);
+    }
+
+    private void rotateIfDue() {
+        if (System.nanoTime() - rotatedAt < periodNanos) {
+            return;
+        }
+        synchronized (this) {
+            long elapsed = System.nanoTime() - rotatedAt;
+            if (elapsed < periodNanos) {
+                return;
+            }
+            // Idle for two periods or more: the current generation is as stale as the previous
+            previous = elapsed >= 2 * periodNanos ? new AtomicLongArray(bits / 64) : current;
+            current = new AtomicLongArray(bits / 64);
+            rotatedAt = System.nanoTime();
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.tc.backend.common;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Position after the last row of a keyset page, ordered by (create_time DESC, id DESC) with NULL
+ * create_time last. Clients only see the opaque Base64 form returned as {@code nextCursor}.
+ */
+public record SeekCursor(LocalDateTime createTime, Long id) {
+
+    public String encode() {
+        // A NULL create_time is encoded as an empty field
+        String raw = (createTime == null ? "" : createTime.toString()) + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Returns null for a blank token, i.e. the first page.
+     *
+     * @throws IllegalArgumentException if the token was not produced by {@link #encode()}
+     */
+    public static SeekCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int sep = raw.indexOf('|');
+            String time = raw.substring(0, sep);
+            return new SeekCursor(time.isEmpty() ? null : LocalDateTime.parse(time), Long.parseLong(raw.substring(sep + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token, e);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.tc.backend.common;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.toolkit.support.SFunction;
+import com.baomidou.mybatisplus.extension.service.IService;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Keyset pagination over (create_time DESC, id DESC): seeks past the cursor instead of using OFFSET
+ * and reads one extra row to know whether another page exists. Rows with a NULL create_time come
+ * last, where MySQL sorts NULLs under DESC.
+ */
+public final class SeekPager {
+
+    /** Largest page a cursor request may ask for; larger sizes are cut to this. */
+    public static final int MAX_SIZE = 100;
+
+    private SeekPager() {
+    }
+
+    public static <T> CursorPage<T> seek(IService<T> service, LambdaQueryWrapper<T> wrapper,
+                                         SFunction<T, LocalDateTime> createTime, SFunction<T, Long> id,
+                                         String cursor, int size, boolean count) {
+        SeekCursor after = SeekCursor.decode(cursor);
+        size = Math.min(Math.max(size, 1), MAX_SIZE);
+        CursorPage<T> page = new CursorPage<>();
+        if (count) {
+            // Counted before the seek predicate is added, so this is the size of the whole result set
+            page.setTotal(service.count(wrapper));
+        }
+
+        if (after != null && after.createTime() == null) {
+            wrapper.isNull(createTime).lt(id, after.id());
+        } else if (after != null) {
+            wrapper.and(w -> w.lt(createTime, after.createTime())
+                    .or(o -> o.eq(createTime, after.createTime()).lt(id, after.id()))
+                    .or().isNull(createTime));
+        }
+        wrapper.orderByDesc(createTime).orderByDesc(id).last("LIMIT " + (size + 1));
+
+        List<T> rows = service.list(wrapper);
+        boolean hasMore = rows.size() > size;
+        if (hasMore) {
+            rows = rows.subList(0, size);
+            T last = rows.get(rows.size() - 1);
+            page.setNextCursor(new SeekCursor(createTime.apply(last), id.apply(last)).encode());
+        }
+        page.setRecords(rows);
+        page.setHasMore(hasMore);
+        return page;
+    }
+}
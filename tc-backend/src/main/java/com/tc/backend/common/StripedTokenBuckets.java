@@ -0,0 +1,67 @@
+package com.tc.backend.common;
+
+import cn.hutool.core.lang.hash.MurmurHash;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Token buckets for an open-ended key space (client IPs, emails) in a fixed array: each key hashes
+ * onto one stripe and shares it with any colliding key, so memory stays constant however many keys
+ * a flood brings. A stripe is a single long - last refill time in ms and remaining milli-tokens -
+ * updated by compare-and-set, never locked.
+ */
+public class StripedTokenBuckets {
+
+    private static final int TOKEN_BITS = 22;
+    private static final long TOKEN_MASK = (1L << TOKEN_BITS) - 1;
+    private static final long MILLI = 1000;
+
+    private final AtomicLongArray stripes;
+    private final int mask;
+    private final long capacity;
+    private final double refillPerMilli;
+    // Random per instance so nobody can pick keys that land on someone else's stripe
+    private final int seed = ThreadLocalRandom.current().nextInt();
+    private final long origin = System.nanoTime();
+
+    /**
+     * @param stripes         rounded up to a power of two
+     * @param burst           tokens a fresh bucket holds
+     * @param refillPerMinute tokens added back per minute
+     */
+    public StripedTokenBuckets(int stripes, int burst, double refillPerMinute) {
+        if (burst < 1 || burst * MILLI > TOKEN_MASK) {
+            throw new IllegalArgumentException("burst must be between 1 and " + TOKEN_MASK / MILLI);
+        }
+        int size = Integer.highestOneBit(Math.max(2, stripes) - 1) << 1;
+        this.stripes = new AtomicLongArray(size);
+        this.mask = size - 1;
+        this.capacity = burst * MILLI;
+        this.refillPerMilli = refillPerMinute * MILLI / 60_000.0;
+    }
+
+    /** Takes one token from the key's bucket; false if it is empty. */
+    public boolean tryAcquire(String key) {
+        // Seeded over the bytes, not String.hashCode: keys with equal hash codes are easy to build
+        byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+        int i = MurmurHash.hash32(bytes, bytes.length, seed) & mask;
+        // Offset by one so a time of 0 can mean "never used"
+        long now = (System.nanoTime() - origin) / 1_000_000 + 1;
+        while (true) {
+            long word = stripes.get(i);
+            long tokens = capacity;
+            if (word != 0) {
+                long elapsed = now - (word >>> TOKEN_BITS);
+                tokens = Math.min(capacity, (word & TOKEN_MASK) + (long) (elapsed * refillPerMilli));
+            }
+            if (tokens < MILLI) {
+                return false;
+            }
+            if (stripes.compareAndSet(i, word, (now << TOKEN_BITS) | (tokens - MILLI))) {
+                return true;
+            }
+        }
+    }
+}
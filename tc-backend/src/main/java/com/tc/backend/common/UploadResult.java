@@ -0,0 +1,17 @@
+package com.tc.backend.common;
+
+import lombok.Data;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Where an uploaded file ended up. {@code variants} maps a size name (thumb, card, detail,
+ * plus "_webp" siblings when a WebP writer is available) to its URL; it is empty for non-images.
+ */
+@Data
+public class UploadResult {
+    private String url;
+    private String sha256;
+    private Map<String, String> variants = new LinkedHashMap<>();
+}
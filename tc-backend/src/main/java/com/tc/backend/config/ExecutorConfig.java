@@ -0,0 +1,45 @@
+package com.tc.backend.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Configuration
+public class ExecutorConfig {
+
+    /**
+     * Runs the independent sub-queries of aggregate endpoints such as /api/bootstrap/home.
+     */
+    @Bean(destroyMethod = "shutdown")
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public ThreadPoolExecutor fanOutExecutor(@Value("${tc.fan-out.threads:8}") int threads,
+                                             @Value("${tc.fan-out.queue:256}") int queueSize) {
+        AtomicInteger seq = new AtomicInteger();
+        return new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueSize),
+                r -> new Thread(r, "fan-out-" + seq.incrementAndGet()),
+                // Saturated: run on the request thread rather than failing the request
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * With spring.threads.virtual.enabled on Java 21 every sub-query gets its own virtual thread;
+     * the connection pool is what bounds how many of them reach the database at once.
+     */
+    @Bean(name = "fanOutExecutor", destroyMethod = "close")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public Executor virtualFanOutExecutor() {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("fan-out-");
+        executor.setVirtualThreads(true);
+        return executor;
+    }
+}
@@ -0,0 +1,162 @@
+package com.tc.backend.config;
+
+import cn.dev33.satoken.dao.SaTokenDaoDefaultImpl;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sa-Token's in-memory DAO with its maps snapshotted to a local file, so logins survive a restart
+ * without running Redis. Reads stay plain map lookups; writes only mark the snapshot dirty and a
+ * background thread rewrites the file at most once per flush interval.
+ */
+@Slf4j
+public class FileSaTokenDao extends SaTokenDaoDefaultImpl {
+
+    // Only what Sa-Token itself stores may come back out of the file
+    private static final ObjectInputFilter ALLOWED = ObjectInputFilter.Config.createFilter(
+            "java.lang.*;java.util.**;cn.dev33.satoken.**;!*");
+
+    private final Path file;
+    private final long flushIntervalMillis;
+
+    private volatile boolean dirty;
+    private ScheduledExecutorService flusher;
+
+    public FileSaTokenDao(Path file, long flushIntervalMillis) {
+        this.file = file;
+        this.flushIntervalMillis = flushIntervalMillis;
+    }
+
+    @Override
+    public synchronized void init() {
+        if (flusher != null) {
+            return;
+        }
+        load();
+        super.init();
+        flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "sa-token-flush");
+            t.setDaemon(true);
+            return t;
+        });
+        flusher.scheduleWithFixedDelay(this::flushIfDirty, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public synchronized void destroy() {
+        if (flusher != null) {
+            flusher.shutdown();
+            flusher = null;
+        }
+        flushIfDirty();
+        super.destroy();
+    }
+
+    @Override
+    public void set(String key, String value, long timeout) {
+        super.set(key, value, timeout);
+        dirty = true;
+    }
+
+    @Override
+    public void update(String key, String value) {
+        super.update(key, value);
+        dirty = true;
+    }
+
+    @Override
+    public void delete(String key) {
+        super.delete(key);
+        dirty = true;
+    }
+
+    @Override
+    public void updateTimeout(String key, long timeout) {
+        super.updateTimeout(key, timeout);
+        dirty = true;
+    }
+
+    @Override
+    public void setObject(String key, Object object, long timeout) {
+        super.setObject(key, object, timeout);
+        dirty = true;
+    }
+
+    @Override
+    public void updateObject(String key, Object object) {
+        super.updateObject(key, object);
+        dirty = true;
+    }
+
+    @Override
+    public void deleteObject(String key) {
+        super.deleteObject(key);
+        dirty = true;
+    }
+
+    @Override
+    public void updateObjectTimeout(String key, long timeout) {
+        super.updateObjectTimeout(key, timeout);
+        dirty = true;
+    }
+
+    private void flushIfDirty() {
+        if (!dirty) {
+            return;
+        }
+        dirty = false;
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+            try (OutputStream out = Files.newOutputStream(tmp);
+                 ObjectOutputStream oos = new ObjectOutputStream(out)) {
+                oos.writeObject(new HashMap<>(dataMap));
+                oos.writeObject(new HashMap<>(expireMap));
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            dirty = true;
+            log.warn("Could not write session snapshot {}", file, e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void load() {
+        if (!Files.exists(file)) {
+            return;
+        }
+        try (InputStream in = Files.newInputStream(file);
+             ObjectInputStream ois = new ObjectInputStream(in)) {
+            ois.setObjectInputFilter(ALLOWED);
+            Map<String, Object> data = (Map<String, Object>) ois.readObject();
+            Map<String, Long> expires = (Map<String, Long>) ois.readObject();
+            long now = System.currentTimeMillis();
+            expires.forEach((key, expireAt) -> {
+                if (expireAt == NEVER_EXPIRE || expireAt > now) {
+                    expireMap.put(key, expireAt);
+                    Object value = data.get(key);
+                    if (value != null) {
+                        dataMap.put(key, value);
+                    }
+                }
+            });
+            log.info("Restored {} session entries from {}", dataMap.size(), file);
+        } catch (IOException | ClassNotFoundException | ClassCastException e) {
+            log.warn("Ignoring unreadable session snapshot {}", file, e);
+        }
+    }
+}
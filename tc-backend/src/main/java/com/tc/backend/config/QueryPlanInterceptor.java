@@ -0,0 +1,132 @@
+package com.tc.backend.config;
+
+import com.baomidou.mybatisplus.core.toolkit.PluginUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.executor.statement.StatementHandler;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Runs EXPLAIN for each distinct SELECT a mapper prepares and reports those the database would
+ * answer with a full table scan: logged with tc.metrics.explain-check=warn, thrown with =fail.
+ * Statements with neither WHERE nor LIMIT read the whole table on purpose and are not checked,
+ * nor are those tagged through the wrapper with {@code .comment(QueryPlanInterceptor.FULL_SCAN)}.
+ * Meant for test and staging runs, as each new statement costs one extra round trip.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "tc.metrics", name = "explain-check")
+@Intercepts({
+        @Signature(type = StatementHandler.class, method = "prepare", args = {Connection.class, Integer.class})
+})
+public class QueryPlanInterceptor implements Interceptor {
+
+    public static final String FULL_SCAN = "full-scan";
+
+    private static final int MAX_STATEMENTS = 10_000;
+    private static final Pattern FILTERED = Pattern.compile("(?i)\\b(WHERE|LIMIT)\\b");
+    // H2 prints the access path of every table as a comment, e.g. /* public.product.tableScan */
+    private static final Pattern H2_TABLE_SCAN = Pattern.compile("/\\* ([\\w.]+)\\.tableScan");
+
+    private final boolean fail;
+    private final long minRows;
+    private final Set<String> checked = ConcurrentHashMap.newKeySet();
+    private final Map<String, String> violations = new ConcurrentHashMap<>();
+
+    public QueryPlanInterceptor(@Value("${tc.metrics.explain-check}") String mode,
+                                @Value("${tc.metrics.explain-min-rows:1000}") long minRows) {
+        if (!"warn".equals(mode) && !"fail".equals(mode)) {
+            throw new IllegalArgumentException("tc.metrics.explain-check must be warn or fail, got " + mode);
+        }
+        this.fail = "fail".equals(mode);
+        this.minRows = minRows;
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        PluginUtils.MPStatementHandler handler = PluginUtils.mpStatementHandler(
+                PluginUtils.realTarget(invocation.getTarget()));
+        MappedStatement ms = handler.mappedStatement();
+        String sql = handler.boundSql().getSql().replaceAll("\\s+", " ").trim();
+        if (ms.getSqlCommandType() == SqlCommandType.SELECT
+                && FILTERED.matcher(sql).find()
+                && !sql.contains("/*" + FULL_SCAN + "*/")
+                && checked.size() < MAX_STATEMENTS
+                && checked.add(sql)) {
+            String scans = explain((Connection) invocation.getArgs()[0], sql, handler);
+            if (scans != null) {
+                violations.put(sql, ms.getId() + ": " + scans);
+                String message = "Full table scan on " + scans + " in " + ms.getId() + ": " + sql;
+                if (fail) {
+                    throw new IllegalStateException(message);
+                }
+                log.warn(message);
+            }
+        }
+        return invocation.proceed();
+    }
+
+    /**
+     * SQL -> statement id and scanned tables, for every full scan seen so far.
+     */
+    public Map<String, String> violations() {
+        return new LinkedHashMap<>(violations);
+    }
+
+    private String explain(Connection connection, String sql, PluginUtils.MPStatementHandler handler) throws SQLException {
+        List<String> scans = new ArrayList<>();
+        try (PreparedStatement ps = connection.prepareStatement("EXPLAIN " + sql)) {
+            handler.parameterHandler().setParameters(ps);
+            try (ResultSet rs = ps.executeQuery()) {
+                ResultSetMetaData meta = rs.getMetaData();
+                int type = column(meta, "type");
+                int table = column(meta, "table");
+                int rows = column(meta, "rows");
+                while (rs.next()) {
+                    if (type > 0) {
+                        // MySQL: one row per table access, ALL being a full scan; small tables are scanned by choice
+                        if ("ALL".equals(rs.getString(type)) && rs.getLong(rows) >= minRows) {
+                            scans.add(rs.getString(table) + " (~" + rs.getLong(rows) + " rows)");
+                        }
+                    } else {
+                        Matcher m = H2_TABLE_SCAN.matcher(rs.getString(1));
+                        while (m.find()) {
+                            scans.add(m.group(1));
+                        }
+                    }
+                }
+            }
+        }
+        return scans.isEmpty() ? null : String.join(", ", scans);
+    }
+
+    private static int column(ResultSetMetaData meta, String label) throws SQLException {
+        for (int i = 1; i <= meta.getColumnCount(); i++) {
+            if (label.equalsIgnoreCase(meta.getColumnLabel(i))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
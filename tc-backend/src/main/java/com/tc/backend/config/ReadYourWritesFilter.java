@@ -0,0 +1,70 @@
+package com.tc.backend.config;
+
+import cn.dev33.satoken.stp.StpUtil;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Carries a token's last write from one /api request to the next, so an admin who just saved
+ * something keeps reading from the primary for tc.datasource.sticky-ms instead of seeing a
+ * replica that has not caught up yet.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    private static final int MAX_TOKENS = 1024;
+
+    private final long stickyMillis;
+    private final Map<String, Long> lastWrites = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+            return size() > MAX_TOKENS;
+        }
+    };
+
+    public ReadYourWritesFilter(long stickyMillis) {
+        this.stickyMillis = stickyMillis;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(request.getContextPath() + "/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String token = StpUtil.getTokenValue();
+        long before = token == null ? 0 : lastWrite(token);
+        ReplicaRoutingDataSource.setLastWrite(before);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            long after = ReplicaRoutingDataSource.lastWrite();
+            if (token != null && after > before) {
+                synchronized (lastWrites) {
+                    lastWrites.put(token, after);
+                }
+            }
+            // Pooled request threads must not carry this request's writes into the next one
+            ReplicaRoutingDataSource.setLastWrite(0);
+        }
+    }
+
+    private long lastWrite(String token) {
+        synchronized (lastWrites) {
+            Long at = lastWrites.get(token);
+            if (at != null && System.currentTimeMillis() - at >= stickyMillis) {
+                lastWrites.remove(token);
+                return 0;
+            }
+            return at == null ? 0 : at;
+        }
+    }
+}
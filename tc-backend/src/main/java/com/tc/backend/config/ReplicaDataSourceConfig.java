@@ -0,0 +1,73 @@
+package com.tc.backend.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Active once tc.datasource.replicas is set: spring.datasource becomes the primary pool behind a
+ * {@link ReplicaRoutingDataSource}, which is what MyBatis and the transaction manager see.
+ * Without replicas Spring Boot's single pool is used as before.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "tc.datasource", name = "replicas[0].url")
+@EnableConfigurationProperties(ReplicaProperties.class)
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean(destroyMethod = "destroy")
+    @Primary
+    public ReplicaRoutingDataSource dataSource(HikariDataSource primaryDataSource,
+                                               ReplicaProperties properties,
+                                               MeterRegistry meterRegistry) {
+        List<HikariDataSource> replicas = new ArrayList<>();
+        List<Integer> weights = new ArrayList<>();
+        for (int i = 0; i < properties.getReplicas().size(); i++) {
+            ReplicaProperties.Replica replica = properties.getReplicas().get(i);
+            HikariConfig config = new HikariConfig();
+            primaryDataSource.copyStateTo(config);
+            config.setPoolName(primaryDataSource.getPoolName() + "-replica-" + (i + 1));
+            config.setJdbcUrl(replica.getUrl());
+            if (replica.getUsername() != null) {
+                config.setUsername(replica.getUsername());
+            }
+            if (replica.getPassword() != null) {
+                config.setPassword(replica.getPassword());
+            }
+            // A replica that is down at startup is routed around, not fatal
+            config.setInitializationFailTimeout(-1);
+            if (config.getMetricsTrackerFactory() == null && config.getMetricRegistry() == null) {
+                config.setMetricRegistry(meterRegistry);
+            }
+            replicas.add(new HikariDataSource(config));
+            weights.add(replica.getWeight());
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, weights,
+                properties.getStickyMs(), properties.getMaxLagSeconds(), meterRegistry);
+    }
+
+    @Bean
+    public ReplicaRoutingInterceptor replicaRoutingInterceptor() {
+        return new ReplicaRoutingInterceptor();
+    }
+
+    @Bean
+    public ReadYourWritesFilter readYourWritesFilter(ReplicaProperties properties) {
+        return new ReadYourWritesFilter(properties.getStickyMs());
+    }
+}
@@ -0,0 +1,31 @@
+package com.tc.backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * tc.datasource.*: read replicas next to spring.datasource. Pool settings are copied from
+ * spring.datasource.hikari; username and password default to the primary's.
+ */
+@Data
+@ConfigurationProperties(prefix = "tc.datasource")
+public class ReplicaProperties {
+
+    private List<Replica> replicas = new ArrayList<>();
+    // After a write, reads on the same thread or admin token go to the primary for this long
+    private long stickyMs = 5000;
+    private long checkMs = 10000;
+    // 0 disables the replication lag check (needs REPLICATION CLIENT on MySQL 8.0.22+)
+    private long maxLagSeconds = 0;
+
+    @Data
+    public static class Replica {
+        private String url;
+        private String username;
+        private String password;
+        private int weight = 1;
+    }
+}
@@ -0,0 +1,195 @@
+package com.tc.backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Hands out primary connections, except while {@link ReplicaRoutingInterceptor} marks the current
+ * thread as running a query outside a transaction: then a healthy replica is picked at random by
+ * weight. A replica whose connection fails is skipped until the next health check passes; with no
+ * replica left the read falls back to the primary. Reads within tc.datasource.sticky-ms of the
+ * thread's last write stay on the primary, so a write is never followed by a stale read of it.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource implements DisposableBean {
+
+    private static final ThreadLocal<int[]> READ_DEPTH = ThreadLocal.withInitial(() -> new int[1]);
+    private static final ThreadLocal<long[]> LAST_WRITE = ThreadLocal.withInitial(() -> new long[1]);
+
+    private final HikariDataSource primary;
+    private final List<Node> replicas;
+    private final long stickyMillis;
+    private final long maxLagSeconds;
+    private final Counter stickyReads;
+    private final Counter fallbackReads;
+
+    public ReplicaRoutingDataSource(HikariDataSource primary, List<HikariDataSource> replicas, List<Integer> weights,
+                                    long stickyMillis, long maxLagSeconds, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.stickyMillis = stickyMillis;
+        this.maxLagSeconds = maxLagSeconds;
+        this.replicas = new ArrayList<>();
+        for (int i = 0; i < replicas.size(); i++) {
+            HikariDataSource ds = replicas.get(i);
+            this.replicas.add(new Node(ds, Math.max(1, weights.get(i)), readCounter(meterRegistry, ds.getPoolName(), "routed")));
+        }
+        this.stickyReads = readCounter(meterRegistry, primary.getPoolName(), "sticky");
+        this.fallbackReads = readCounter(meterRegistry, primary.getPoolName(), "fallback");
+    }
+
+    private static Counter readCounter(MeterRegistry registry, String pool, String reason) {
+        return Counter.builder("tc.datasource.reads")
+                .description("Out-of-transaction queries by the pool that served them")
+                .tag("pool", pool)
+                .tag("reason", reason)
+                .register(registry);
+    }
+
+    public static void beginRead() {
+        READ_DEPTH.get()[0]++;
+    }
+
+    public static void endRead() {
+        READ_DEPTH.get()[0]--;
+    }
+
+    public static void markWrite() {
+        LAST_WRITE.get()[0] = System.currentTimeMillis();
+    }
+
+    /** Epoch millis of the current thread's last write, 0 if none. */
+    public static long lastWrite() {
+        return LAST_WRITE.get()[0];
+    }
+
+    public static void setLastWrite(long millis) {
+        LAST_WRITE.get()[0] = millis;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (READ_DEPTH.get()[0] == 0) {
+            return primary.getConnection();
+        }
+        if (System.currentTimeMillis() - LAST_WRITE.get()[0] < stickyMillis) {
+            stickyReads.increment();
+            return primary.getConnection();
+        }
+        List<Node> candidates = new ArrayList<>(replicas.size());
+        int totalWeight = 0;
+        for (Node node : replicas) {
+            if (node.healthy) {
+                candidates.add(node);
+                totalWeight += node.weight;
+            }
+        }
+        while (!candidates.isEmpty()) {
+            int pick = ThreadLocalRandom.current().nextInt(totalWeight);
+            Node node = candidates.get(0);
+            for (Node candidate : candidates) {
+                node = candidate;
+                pick -= candidate.weight;
+                if (pick < 0) {
+                    break;
+                }
+            }
+            try {
+                Connection connection = node.dataSource.getConnection();
+                node.reads.increment();
+                return connection;
+            } catch (SQLException e) {
+                node.markDown(e);
+                candidates.remove(node);
+                totalWeight -= node.weight;
+            }
+        }
+        fallbackReads.increment();
+        return primary.getConnection();
+    }
+
+    // Hikari pools cannot switch credentials, so explicit ones get their own unpooled primary connection
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return DriverManager.getConnection(primary.getJdbcUrl(), username, password);
+    }
+
+    /**
+     * Probes every replica, bringing recovered ones back into rotation and taking out those that
+     * fail or lag behind the primary by more than tc.datasource.max-lag-seconds.
+     */
+    @Scheduled(initialDelayString = "${tc.datasource.check-ms:10000}", fixedDelayString = "${tc.datasource.check-ms:10000}")
+    public void checkReplicas() {
+        for (Node node : replicas) {
+            try (Connection connection = node.dataSource.getConnection()) {
+                if (!connection.isValid(2)) {
+                    throw new SQLException("Connection is not valid");
+                }
+                if (maxLagSeconds > 0) {
+                    checkLag(connection);
+                }
+                if (!node.healthy) {
+                    node.healthy = true;
+                    log.info("Replica {} is back in rotation", node.dataSource.getPoolName());
+                }
+            } catch (SQLException e) {
+                node.markDown(e);
+            }
+        }
+    }
+
+    private void checkLag(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SHOW REPLICA STATUS")) {
+            if (!rs.next()) {
+                throw new SQLException("Not replicating");
+            }
+            long lag = rs.getLong("Seconds_Behind_Source");
+            if (rs.wasNull()) {
+                throw new SQLException("Replication is stopped");
+            }
+            if (lag > maxLagSeconds) {
+                throw new SQLException("Replica is " + lag + " s behind");
+            }
+        }
+    }
+
+    // The primary pool is a bean of its own and is closed with it
+    @Override
+    public void destroy() {
+        replicas.forEach(node -> node.dataSource.close());
+    }
+
+    private static final class Node {
+        private final HikariDataSource dataSource;
+        private final int weight;
+        private final Counter reads;
+        private volatile boolean healthy = true;
+
+        private Node(HikariDataSource dataSource, int weight, Counter reads) {
+            this.dataSource = dataSource;
+            this.weight = weight;
+            this.reads = reads;
+        }
+
+        private void markDown(SQLException e) {
+            if (healthy) {
+                healthy = false;
+                log.warn("Replica {} taken out of rotation: {}", dataSource.getPoolName(), e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.tc.backend.config;
+
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Marks mapper queries that run outside a transaction as replica reads. Outside a transaction
+ * MyBatis only asks for a connection once the statement is prepared, so the mark is in place
+ * when {@link ReplicaRoutingDataSource} picks the pool. Every update marks a write.
+ */
+@Intercepts({
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class, CacheKey.class, BoundSql.class}),
+        @Signature(type = Executor.class, method = "update",
+                args = {MappedStatement.class, Object.class})
+})
+public class ReplicaRoutingInterceptor implements Interceptor {
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        if ("update".equals(invocation.getMethod().getName())) {
+            try {
+                return invocation.proceed();
+            } finally {
+                ReplicaRoutingDataSource.markWrite();
+            }
+        }
+        // Inside a transaction the connection is already bound, and it must be the primary's
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return invocation.proceed();
+        }
+        ReplicaRoutingDataSource.beginRead();
+        try {
+            return invocation.proceed();
+        } finally {
+            ReplicaRoutingDataSource.endRead();
+        }
+    }
+}
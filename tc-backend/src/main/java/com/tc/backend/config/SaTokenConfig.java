@@ -0,0 +1,24 @@
+package com.tc.backend.config;
+
+import cn.dev33.satoken.dao.SaTokenDao;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Paths;
+
+@Configuration
+public class SaTokenConfig {
+
+    /**
+     * tc.auth.session-store=file keeps sessions across restarts; the default "memory" leaves
+     * Sa-Token on its built-in map.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "tc.auth", name = "session-store", havingValue = "file")
+    public SaTokenDao fileSaTokenDao(@Value("${tc.auth.session-file:data/sa-token-sessions.bin}") String file,
+                                     @Value("${tc.auth.session-flush-ms:5000}") long flushIntervalMillis) {
+        return new FileSaTokenDao(Paths.get(file), flushIntervalMillis);
+    }
+}
@@ -0,0 +1,12 @@
+package com.tc.backend.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables @Scheduled for the background rebuilds of in-memory aggregates.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
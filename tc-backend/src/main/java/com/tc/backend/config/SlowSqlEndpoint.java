@@ -0,0 +1,24 @@
+package com.tc.backend.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * /actuator/slowsql: the latest slow statements captured by {@link SqlMetricsInterceptor}.
+ */
+@Component
+@Endpoint(id = "slowsql")
+@RequiredArgsConstructor
+public class SlowSqlEndpoint {
+
+    private final SqlMetricsInterceptor sqlMetricsInterceptor;
+
+    @ReadOperation
+    public List<SqlMetricsInterceptor.SlowQuery> slowQueries() {
+        return sqlMetricsInterceptor.slowQueries();
+    }
+}
@@ -0,0 +1,180 @@
+package com.tc.backend.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every mapper call (tc.sql, tagged with the mapper method and command type), records how
+ * many rows it returned or touched (tc.sql.rows), and keeps the latest statements slower than
+ * tc.metrics.slow-sql-ms together with their bound parameters for the slowsql actuator endpoint.
+ */
+@Slf4j
+@Component
+@Intercepts({
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class, CacheKey.class, BoundSql.class}),
+        @Signature(type = Executor.class, method = "update",
+                args = {MappedStatement.class, Object.class})
+})
+public class SqlMetricsInterceptor implements Interceptor {
+
+    private static final int MAX_PARAM_CHARS = 200;
+
+    private final MeterRegistry meterRegistry;
+    private final long slowNanos;
+    private final int maxSamples;
+    private final Deque<SlowQuery> samples = new ArrayDeque<>();
+
+    public SqlMetricsInterceptor(MeterRegistry meterRegistry,
+                                 @Value("${tc.metrics.slow-sql-ms:200}") long slowMillis,
+                                 @Value("${tc.metrics.slow-sql-samples:50}") int maxSamples) {
+        this.meterRegistry = meterRegistry;
+        this.slowNanos = TimeUnit.MILLISECONDS.toNanos(slowMillis);
+        this.maxSamples = maxSamples;
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        Object[] args = invocation.getArgs();
+        MappedStatement ms = (MappedStatement) args[0];
+        long start = System.nanoTime();
+        String outcome = "success";
+        Object result = null;
+        try {
+            result = invocation.proceed();
+            return result;
+        } catch (Throwable e) {
+            outcome = "error";
+            throw e;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            String statement = shortId(ms.getId());
+            String command = ms.getSqlCommandType().name().toLowerCase(Locale.ROOT);
+            Timer.builder("tc.sql")
+                    .description("Mapper statement latency")
+                    .tag("statement", statement)
+                    .tag("command", command)
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(elapsed, TimeUnit.NANOSECONDS);
+            long rows = rows(result);
+            if (rows >= 0) {
+                DistributionSummary.builder("tc.sql.rows")
+                        .description("Rows returned by a query or affected by an update")
+                        .tag("statement", statement)
+                        .tag("command", command)
+                        .register(meterRegistry)
+                        .record(rows);
+            }
+            if (elapsed >= slowNanos) {
+                recordSlow(ms, args, statement, elapsed, rows);
+            }
+        }
+    }
+
+    /**
+     * Most recent slow statements, newest first.
+     */
+    public synchronized List<SlowQuery> slowQueries() {
+        return new ArrayList<>(samples);
+    }
+
+    private void recordSlow(MappedStatement ms, Object[] args, String statement, long elapsed, long rows) {
+        BoundSql boundSql = args.length == 6 ? (BoundSql) args[5] : ms.getBoundSql(args[1]);
+        String sql = boundSql.getSql().replaceAll("\\s+", " ").trim();
+        SlowQuery sample = new SlowQuery(Instant.now(), statement, TimeUnit.NANOSECONDS.toMillis(elapsed), rows,
+                sql, parameters(ms.getConfiguration(), boundSql, sql));
+        log.warn("Slow SQL {} took {} ms: {} {}", statement, sample.millis(), sql, sample.parameters());
+        synchronized (this) {
+            samples.addFirst(sample);
+            while (samples.size() > maxSamples) {
+                samples.removeLast();
+            }
+        }
+    }
+
+    // Resolves bound values the same way MyBatis' DefaultParameterHandler does
+    private static List<String> parameters(Configuration configuration, BoundSql boundSql, String sql) {
+        List<ParameterMapping> mappings = boundSql.getParameterMappings();
+        List<String> values = new ArrayList<>(mappings.size());
+        boolean redact = sql.toLowerCase(Locale.ROOT).contains("password");
+        Object parameterObject = boundSql.getParameterObject();
+        MetaObject meta = null;
+        for (ParameterMapping mapping : mappings) {
+            if (redact) {
+                values.add("***");
+                continue;
+            }
+            String property = mapping.getProperty();
+            Object value;
+            try {
+                if (boundSql.hasAdditionalParameter(property)) {
+                    value = boundSql.getAdditionalParameter(property);
+                } else if (parameterObject == null) {
+                    value = null;
+                } else if (configuration.getTypeHandlerRegistry().hasTypeHandler(parameterObject.getClass())) {
+                    value = parameterObject;
+                } else {
+                    if (meta == null) {
+                        meta = configuration.newMetaObject(parameterObject);
+                    }
+                    value = meta.getValue(property);
+                }
+            } catch (RuntimeException e) {
+                value = "?";
+            }
+            String text = String.valueOf(value);
+            values.add(text.length() > MAX_PARAM_CHARS ? text.substring(0, MAX_PARAM_CHARS) + "..." : text);
+        }
+        return values;
+    }
+
+    private static long rows(Object result) {
+        if (result instanceof Collection<?> list) {
+            return list.size();
+        }
+        if (result instanceof Integer count) {
+            return count;
+        }
+        return -1;
+    }
+
+    // com.tc.backend.mapper.ProductMapper.selectList -> ProductMapper.selectList
+    private static String shortId(String id) {
+        int method = id.lastIndexOf('.');
+        int type = method > 0 ? id.lastIndexOf('.', method - 1) : -1;
+        return type >= 0 ? id.substring(type + 1) : id;
+    }
+
+    public record SlowQuery(Instant at, String statement, long millis, long rows, String sql, List<String> parameters) {
+    }
+}
@@ -5,6 +5,7 @@ import cn.dev33.satoken.util.SaResult;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.tc.backend.common.Result;
 import com.tc.backend.entity.SysUser;
+import com.tc.backend.service.AuthUserCache;
 import com.tc.backend.service.SysUserService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.*;
@@ -18,6 +19,7 @@ import java.util.Map;
 public class AuthController {
 
     private final SysUserService sysUserService;
+    private final AuthUserCache authUserCache;
 
     @PostMapping("/login")
     public Result<Map<String, Object>> login(@RequestBody Map<String, String> params) {
@@ -42,16 +44,17 @@ public class AuthController {
 
     @PostMapping("/logout")
     public Result<Void> logout() {
+        authUserCache.evict(StpUtil.getTokenValue());
         StpUtil.logout();
         return Result.success();
     }
     
     @GetMapping("/me")
     public Result<SysUser> me() {
-        if (!StpUtil.isLogin()) {
+        SysUser user = authUserCache.currentUser();
+        if (user == null) {
             return Result.error(401, "Not logged in");
         }
-        Long userId = StpUtil.getLoginIdAsLong();
-        return Result.success(sysUserService.getById(userId));
+        return Result.success(user);
     }
 }
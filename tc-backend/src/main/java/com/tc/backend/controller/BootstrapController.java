@@ -0,0 +1,53 @@
+package com.tc.backend.controller;
+
+import com.tc.backend.common.HomeBootstrap;
+import com.tc.backend.common.Result;
+import com.tc.backend.service.HomeBootstrapService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+@RestController
+@RequestMapping("/api/bootstrap")
+@RequiredArgsConstructor
+public class BootstrapController {
+
+    private static final int MAX_SECTIONS = 10;
+    private static final int MAX_FEATURED = 24;
+
+    private final HomeBootstrapService homeBootstrapService;
+
+    @GetMapping("/home")
+    public ResponseEntity<Result<HomeBootstrap>> home(@RequestParam(defaultValue = "home_advantage,home_hero") String sections,
+                                                      @RequestParam(defaultValue = "4") Integer featuredSize) {
+        List<String> names = Arrays.stream(sections.split(","))
+                .map(String::trim)
+                .filter(s -> !s.isEmpty())
+                .distinct()
+                .limit(MAX_SECTIONS)
+                .collect(Collectors.toList());
+        HomeBootstrap bootstrap = homeBootstrapService.load(names, Math.max(1, Math.min(featuredSize, MAX_FEATURED)));
+
+        String serverTiming = bootstrap.getTimings().entrySet().stream()
+                .map(e -> e.getKey().replace(':', '-') + ";dur=" + String.format(Locale.ROOT, "%.1f", e.getValue()))
+                .collect(Collectors.joining(", "));
+        // A partial payload must not be cached, or the gap would outlive the slow query
+        CacheControl cacheControl = bootstrap.getDegraded().isEmpty()
+                ? CacheControl.maxAge(30, TimeUnit.SECONDS).cachePublic()
+                : CacheControl.noStore();
+        return ResponseEntity.ok()
+                .cacheControl(cacheControl)
+                .header("Server-Timing", serverTiming)
+                .body(Result.success(bootstrap));
+    }
+}
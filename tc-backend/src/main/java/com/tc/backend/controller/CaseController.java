@@ -3,6 +3,7 @@ package com.tc.backend.controller;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.tc.backend.common.Result;
+import com.tc.backend.common.SeekPager;
 import com.tc.backend.entity.CustomerCase;
 import com.tc.backend.service.CustomerCaseService;
 import lombok.RequiredArgsConstructor;
@@ -17,8 +18,18 @@ public class CaseController {
     private final CustomerCaseService customerCaseService;
 
     @GetMapping
-    public Result<Page<CustomerCase>> list(@RequestParam(defaultValue = "1") Integer page,
-                                           @RequestParam(defaultValue = "10") Integer size) {
+    public Result<?> list(@RequestParam(defaultValue = "1") Integer page,
+                          @RequestParam(defaultValue = "10") Integer size,
+                          @RequestParam(required = false) String cursor,
+                          @RequestParam(defaultValue = "false") Boolean count) {
+        if (cursor != null) {
+            try {
+                return Result.success(SeekPager.seek(customerCaseService, new LambdaQueryWrapper<CustomerCase>(),
+                        CustomerCase::getCreateTime, CustomerCase::getId, cursor, size, count));
+            } catch (IllegalArgumentException e) {
+                return Result.error(400, e.getMessage());
+            }
+        }
         Page<CustomerCase> pageParam = new Page<>(page, size);
         return Result.success(customerCaseService.page(pageParam, 
             new LambdaQueryWrapper<CustomerCase>().orderByDesc(CustomerCase::getCreateTime)));
@@ -1,6 +1,5 @@
 package com.tc.backend.controller;
 
-import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.tc.backend.common.Result;
 import com.tc.backend.entity.Category;
 import com.tc.backend.service.CategoryService;
@@ -18,9 +17,7 @@ public class CategoryController {
 
     @GetMapping
     public Result<List<Category>> list() {
-        return Result.success(categoryService.list(
-            new LambdaQueryWrapper<Category>().orderByAsc(Category::getSortOrder)
-        ));
+        return Result.success(categoryService.listOrdered());
     }
 
     @PostMapping
@@ -3,9 +3,15 @@ package com.tc.backend.controller;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.tc.backend.common.Result;
+import com.tc.backend.common.SeekPager;
 import com.tc.backend.entity.Inquiry;
+import com.tc.backend.service.InquiryIngestGuard;
+import com.tc.backend.service.InquiryIngestQueue;
 import com.tc.backend.service.InquiryService;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDateTime;
@@ -16,18 +22,48 @@ import java.time.LocalDateTime;
 public class ContactController {
 
     private final InquiryService inquiryService;
+    private final InquiryIngestQueue inquiryIngestQueue;
+    private final InquiryIngestGuard inquiryIngestGuard;
 
     @PostMapping
-    public Result<Boolean> submit(@RequestBody Inquiry message) {
+    public ResponseEntity<Result<Boolean>> submit(@RequestBody Inquiry message, HttpServletRequest request) {
+        switch (inquiryIngestGuard.check(message, request.getRemoteAddr())) {
+            case RATE_LIMITED -> {
+                return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                        .body(Result.error(429, "Too many submissions, please try again later"));
+            }
+            // Already queued once; answer as if accepted so a double submit looks normal
+            case DUPLICATE -> {
+                return ResponseEntity.ok(Result.success(true));
+            }
+            default -> {
+            }
+        }
+        message.setId(null);
         message.setCreateTime(LocalDateTime.now());
         message.setStatus("unread");
-        return Result.success(inquiryService.save(message));
+        if (!inquiryIngestQueue.offer(message)) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .body(Result.error(429, "Too many submissions, please try again later"));
+        }
+        inquiryIngestGuard.recordQueued(message);
+        return ResponseEntity.ok(Result.success(true));
     }
 
     // Keep this for compatibility if needed, but Admin uses InquiryController directly
     @GetMapping
-    public Result<Page<Inquiry>> list(@RequestParam(defaultValue = "1") Integer page,
-                                             @RequestParam(defaultValue = "10") Integer size) {
+    public Result<?> list(@RequestParam(defaultValue = "1") Integer page,
+                          @RequestParam(defaultValue = "10") Integer size,
+                          @RequestParam(required = false) String cursor,
+                          @RequestParam(defaultValue = "false") Boolean count) {
+        if (cursor != null) {
+            try {
+                return Result.success(SeekPager.seek(inquiryService, new LambdaQueryWrapper<Inquiry>(),
+                        Inquiry::getCreateTime, Inquiry::getId, cursor, size, count));
+            } catch (IllegalArgumentException e) {
+                return Result.error(400, e.getMessage());
+            }
+        }
         Page<Inquiry> pageParam = new Page<>(page, size);
         return Result.success(inquiryService.page(pageParam, 
             new LambdaQueryWrapper<Inquiry>().orderByDesc(Inquiry::getCreateTime)));
@@ -1,14 +1,21 @@
 package com.tc.backend.controller;
 
-import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.tc.backend.common.ETags;
 import com.tc.backend.common.Result;
 import com.tc.backend.entity.ContentItem;
 import com.tc.backend.service.ContentItemService;
+import com.tc.backend.service.ContentResponseCache;
+import com.tc.backend.service.ResponseCompressor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.function.Supplier;
 
 @Slf4j
 @RestController
@@ -16,26 +23,47 @@ import java.util.List;
 @RequiredArgsConstructor
 public class ContentController {
 
+    private static final String ALL_KEY = "*all";
+
     private final ContentItemService contentItemService;
+    private final ContentResponseCache contentResponseCache;
+    private final ResponseCompressor responseCompressor;
 
     @GetMapping("/{section}")
-    public Result<List<ContentItem>> getBySection(@PathVariable String section) {
-        return Result.success(contentItemService.list(new LambdaQueryWrapper<ContentItem>()
-                .eq(ContentItem::getSection, section)
-                .orderByAsc(ContentItem::getSortOrder)));
+    public ResponseEntity<byte[]> getBySection(@PathVariable String section,
+                                               @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                               @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return cached(section, ifNoneMatch, acceptEncoding, () -> contentItemService.listBySection(section));
     }
 
     @GetMapping("/all")
-    public Result<List<ContentItem>> getAll() {
-        List<ContentItem> list = contentItemService.list(new LambdaQueryWrapper<ContentItem>()
-                .orderByAsc(ContentItem::getSection)
-                .orderByAsc(ContentItem::getSortOrder));
-        log.info("Fetching all content items, count: {}", list.size());
-        return Result.success(list);
+    public ResponseEntity<byte[]> getAll(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                         @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return cached(ALL_KEY, ifNoneMatch, acceptEncoding, () -> {
+            List<ContentItem> list = contentItemService.listAll();
+            log.debug("Loaded all content items, count: {}", list.size());
+            return list;
+        });
     }
 
     @PostMapping
     public Result<Boolean> update(@RequestBody ContentItem contentItem) {
         return Result.success(contentItemService.updateById(contentItem));
     }
+
+    private ResponseEntity<byte[]> cached(String key, String ifNoneMatch, String acceptEncoding,
+                                          Supplier<List<ContentItem>> loader) {
+        // Revalidation only needs the current version, so a 304 never touches the cache or the DB
+        String etag = contentResponseCache.etag(key);
+        if (ETags.matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(CacheControl.noCache())
+                    .build();
+        }
+        ContentResponseCache.Entry entry = contentResponseCache.get(key, loader);
+        return responseCompressor.json(ResponseEntity.ok()
+                .eTag(entry.etag())
+                .cacheControl(CacheControl.noCache()), entry.body(), acceptEncoding);
+    }
 }
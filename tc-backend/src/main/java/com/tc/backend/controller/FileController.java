@@ -1,54 +1,68 @@
 package com.tc.backend.controller;
 
+import cn.dev33.satoken.stp.StpUtil;
 import com.tc.backend.common.Result;
+import com.tc.backend.common.UploadResult;
+import com.tc.backend.service.StreamingUploadService;
+import com.tc.backend.service.UploadStorageService;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.File;
 import java.io.IOException;
-import java.util.UUID;
+import java.io.InputStream;
 
 @Slf4j
 @RestController
 @RequestMapping("/api/file")
+@RequiredArgsConstructor
 public class FileController {
 
-    private static final String UPLOAD_DIR = "uploads/";
+    private final UploadStorageService uploadStorageService;
+    private final StreamingUploadService streamingUploadService;
 
     @PostMapping("/upload")
-    public Result<String> upload(@RequestParam("file") MultipartFile file) {
+    public Result<UploadResult> upload(@RequestParam("file") MultipartFile file) {
         if (file.isEmpty()) {
             return Result.error(400, "File is empty");
         }
 
-        // Create upload directory if it doesn't exist
-        File dir = new File(UPLOAD_DIR);
-        if (!dir.exists()) {
-            dir.mkdirs();
-        }
-
-        try {
-            // Generate unique filename
-            String originalFilename = file.getOriginalFilename();
-            String extension = originalFilename != null && originalFilename.contains(".") 
-                    ? originalFilename.substring(originalFilename.lastIndexOf(".")) 
-                    : "";
-            String filename = UUID.randomUUID().toString() + extension;
-            
-            // Save file
-            File dest = new File(dir.getAbsolutePath() + File.separator + filename);
-            file.transferTo(dest);
-            
-            // Return Relative URL (Handled by Frontend Proxy or Nginx)
-            String url = "/uploads/" + filename;
-            return Result.success(url);
+        try (InputStream in = file.getInputStream()) {
+            // Stored under its content hash; URLs are relative (handled by Frontend Proxy or Nginx)
+            return Result.success(uploadStorageService.store(in, file.getOriginalFilename()));
         } catch (IOException e) {
             log.error("File upload failed", e);
             return Result.error(500, "Upload failed: " + e.getMessage());
         }
     }
+
+    /**
+     * Raw-body upload for large attachments: the request body is the file itself, so nothing is
+     * buffered to a multipart temp file first. The stored type comes from the file's magic bytes.
+     * Rejections carry their code as the HTTP status too (413, 415, 429).
+     */
+    @PostMapping("/stream")
+    public ResponseEntity<Result<UploadResult>> stream(HttpServletRequest request) {
+        String contentType = request.getContentType();
+        if (contentType != null && contentType.startsWith("multipart/")) {
+            return ResponseEntity.badRequest().body(Result.error(400, "Send the file as the raw request body"));
+        }
+        String owner = StpUtil.isLogin() ? "user:" + StpUtil.getLoginId() : "ip:" + request.getRemoteAddr();
+        try (InputStream in = request.getInputStream()) {
+            return ResponseEntity.ok(Result.success(streamingUploadService.receive(in, request.getContentLengthLong(), owner)));
+        } catch (StreamingUploadService.UploadRejectedException e) {
+            return ResponseEntity.status(e.getCode()).body(Result.error(e.getCode(), e.getMessage()));
+        } catch (IOException e) {
+            log.error("Streaming upload failed", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Result.error(500, "Upload failed: " + e.getMessage()));
+        }
+    }
 }
@@ -2,11 +2,29 @@ package com.tc.backend.controller;
 
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.tc.backend.common.InquiryBulkRequest;
+import com.tc.backend.common.InquiryBulkResult;
 import com.tc.backend.common.Result;
+import com.tc.backend.common.SeekPager;
 import com.tc.backend.entity.Inquiry;
+import com.tc.backend.service.InquiryBulkService;
+import com.tc.backend.service.InquiryEventStream;
+import com.tc.backend.service.InquiryExportService;
 import com.tc.backend.service.InquiryService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @RestController
@@ -15,15 +33,66 @@ import java.time.LocalDateTime;
 public class InquiryController {
 
     private final InquiryService inquiryService;
+    private final InquiryExportService inquiryExportService;
+    private final InquiryEventStream inquiryEventStream;
+    private final InquiryBulkService inquiryBulkService;
 
     @GetMapping
-    public Result<Page<Inquiry>> list(@RequestParam(defaultValue = "1") Integer page,
-                                      @RequestParam(defaultValue = "10") Integer size) {
+    public Result<?> list(@RequestParam(defaultValue = "1") Integer page,
+                          @RequestParam(defaultValue = "10") Integer size,
+                          @RequestParam(required = false) String cursor,
+                          @RequestParam(defaultValue = "false") Boolean count) {
+        if (cursor != null) {
+            try {
+                return Result.success(SeekPager.seek(inquiryService, new LambdaQueryWrapper<Inquiry>(),
+                        Inquiry::getCreateTime, Inquiry::getId, cursor, size, count));
+            } catch (IllegalArgumentException e) {
+                return Result.error(400, e.getMessage());
+            }
+        }
         Page<Inquiry> pageParam = new Page<>(page, size);
         return Result.success(inquiryService.page(pageParam, 
             new LambdaQueryWrapper<Inquiry>().orderByDesc(Inquiry::getCreateTime)));
     }
 
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(@RequestParam(defaultValue = InquiryExportService.CSV) String format,
+                                                        @RequestParam(required = false) String status,
+                                                        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        if (!InquiryExportService.CSV.equals(format) && !InquiryExportService.NDJSON.equals(format)) {
+            return ResponseEntity.badRequest().build();
+        }
+        LambdaQueryWrapper<Inquiry> wrapper = new LambdaQueryWrapper<Inquiry>()
+                .eq(StringUtils.hasText(status), Inquiry::getStatus, status)
+                .ge(from != null, Inquiry::getCreateTime, from == null ? null : from.atStartOfDay())
+                .lt(to != null, Inquiry::getCreateTime, to == null ? null : to.plusDays(1).atStartOfDay())
+                .orderByAsc(Inquiry::getId);
+
+        boolean csv = InquiryExportService.CSV.equals(format);
+        return ResponseEntity.ok()
+                .contentType(csv ? new MediaType("text", "csv", StandardCharsets.UTF_8) : MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"inquiries." + format + "\"")
+                .body(out -> inquiryExportService.export(format, wrapper, out));
+    }
+
+    /**
+     * Server-sent events for every inquiry created, updated or deleted from now on; see
+     * InquiryEventStream for the event names and how Last-Event-ID is resumed.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> stream(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        SseEmitter emitter = inquiryEventStream.subscribe(lastEventId);
+        if (emitter == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        return ResponseEntity.ok()
+                // Tells nginx not to buffer the stream
+                .header("X-Accel-Buffering", "no")
+                .cacheControl(CacheControl.noStore())
+                .body(emitter);
+    }
+
     @PostMapping
     public Result<Boolean> save(@RequestBody Inquiry inquiry) {
         if (inquiry.getId() == null) {
@@ -37,6 +106,18 @@ public class InquiryController {
         }
     }
 
+    /**
+     * Sets a status on, or deletes, every inquiry picked by ids and/or filter; see InquiryBulkRequest.
+     */
+    @PostMapping("/bulk")
+    public Result<InquiryBulkResult> bulk(@RequestBody InquiryBulkRequest request) {
+        try {
+            return Result.success(inquiryBulkService.apply(request));
+        } catch (IllegalArgumentException e) {
+            return Result.error(400, e.getMessage());
+        }
+    }
+
     @DeleteMapping("/{id}")
     public Result<Boolean> delete(@PathVariable Long id) {
         return Result.success(inquiryService.removeById(id));
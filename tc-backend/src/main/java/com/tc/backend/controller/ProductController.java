@@ -1,44 +1,118 @@
 package com.tc.backend.controller;
 
-import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.tc.backend.common.FacetedPage;
+import com.tc.backend.common.ProductImportReport;
 import com.tc.backend.common.Result;
+import com.tc.backend.common.SeekCursor;
 import com.tc.backend.entity.Product;
+import com.tc.backend.service.ProductCatalogIndex;
+import com.tc.backend.service.ProductFacetCounter;
+import com.tc.backend.service.ProductImportService;
+import com.tc.backend.service.ProductSearchService;
 import com.tc.backend.service.ProductService;
+import com.tc.backend.service.ResponseBodyCache;
+import com.tc.backend.service.ResponseCompressor;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+
+@Slf4j
 @RestController
 @RequestMapping("/api/products")
 @RequiredArgsConstructor
 public class ProductController {
 
     private final ProductService productService;
+    private final ProductCatalogIndex productCatalogIndex;
+    private final ProductSearchService productSearchService;
+    private final ProductFacetCounter productFacetCounter;
+    private final ProductImportService productImportService;
+    private final ResponseBodyCache responseBodyCache;
+    private final ResponseCompressor responseCompressor;
 
     @GetMapping
-    public Result<Page<Product>> list(@RequestParam(defaultValue = "1") Integer page,
-                                      @RequestParam(defaultValue = "10") Integer size,
-                                      @RequestParam(required = false) String category,
-                                      @RequestParam(required = false) String search,
-                                      @RequestParam(required = false) Boolean featured) {
-        
-        Page<Product> pageParam = new Page<>(page, size);
-        LambdaQueryWrapper<Product> wrapper = new LambdaQueryWrapper<>();
-        
-        if (StringUtils.hasText(category)) {
-            wrapper.eq(Product::getCategory, category);
+    public ResponseEntity<?> list(@RequestParam(defaultValue = "1") Integer page,
+                                  @RequestParam(defaultValue = "10") Integer size,
+                                  @RequestParam(required = false) String category,
+                                  @RequestParam(required = false) String search,
+                                  @RequestParam(required = false) Boolean featured,
+                                  @RequestParam(required = false) String cursor,
+                                  @RequestParam(defaultValue = "false") Boolean count,
+                                  @RequestParam(defaultValue = "false") Boolean facets,
+                                  @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+                                  HttpServletRequest request) {
+
+        // spec=key:value, repeatable; all of them must match. Read raw so values may contain commas
+        Map<String, String> specs;
+        try {
+            specs = parseSpecs(request.getParameterValues("spec"));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.ok(Result.error(400, e.getMessage()));
         }
+
         if (StringUtils.hasText(search)) {
-            wrapper.like(Product::getName, search);
+            if (cursor != null) {
+                return ResponseEntity.ok(Result.error(400, "Cursor paging is not supported for search results"));
+            }
+            // Hits come from the search index, which is updated on its own, so these are not cached
+            List<Long> hits = productSearchService.search(search);
+            return ResponseEntity.ok(Result.success(
+                    withFacets(productCatalogIndex.page(page, size, category, featured, specs, hits), facets, category, featured, specs)));
+        }
+
+        Supplier<Object> loader;
+        // Passing cursor (empty for the first page) switches to keyset paging
+        if (cursor != null) {
+            SeekCursor after;
+            try {
+                after = SeekCursor.decode(cursor);
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.ok(Result.error(400, e.getMessage()));
+            }
+            loader = () -> productCatalogIndex.seek(after, size, category, featured, specs, count);
+        } else {
+            loader = () -> withFacets(productCatalogIndex.page(page, size, category, featured, specs), facets, category, featured, specs);
         }
-        if (featured != null) {
-            wrapper.eq(Product::getIsFeatured, featured);
+        // Every parameter that shapes the body; facet counts have a version of their own
+        String key = "products?page=" + page + "&size=" + size + "&category=" + category + "&featured=" + featured
+                + "&cursor=" + cursor + "&count=" + count + "&spec=" + new TreeMap<>(specs)
+                + (facets && cursor == null ? "&facets=" + productFacetCounter.version() : "");
+        return responseCompressor.json(ResponseEntity.ok(),
+                responseBodyCache.get(key, productCatalogIndex.version(), loader), acceptEncoding);
+    }
+
+    private Object withFacets(Page<Product> result, boolean facets, String category, Boolean featured, Map<String, String> specs) {
+        if (!facets) {
+            return result;
         }
-        
-        wrapper.orderByDesc(Product::getCreateTime);
-        
-        return Result.success(productService.page(pageParam, wrapper));
+        FacetedPage<Product> faceted = new FacetedPage<>(result);
+        faceted.setFacets(productFacetCounter.counts());
+        faceted.setSpecFacets(productCatalogIndex.specFacets(category, featured, specs));
+        return faceted;
+    }
+
+    @GetMapping("/suggest")
+    public Result<List<String>> suggest(@RequestParam String q,
+                                        @RequestParam(defaultValue = "10") Integer limit) {
+        return Result.success(productSearchService.suggest(q, limit));
     }
 
     @GetMapping("/{id}")
@@ -48,11 +122,64 @@ public class ProductController {
 
     @PostMapping
     public Result<Boolean> save(@RequestBody Product product) {
-        return Result.success(productService.saveOrUpdate(product));
+        try {
+            return Result.success(productService.saveOrUpdate(product));
+        } catch (DuplicateKeyException e) {
+            String cause = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+            if (cause != null && cause.toLowerCase(Locale.ROOT).contains("uk_product_sku")) {
+                return Result.error(400, "SKU " + product.getSku() + " is already used by another product");
+            }
+            log.warn("Product save hit a unique key", e);
+            return Result.error(400, "Product conflicts with an existing record");
+        }
+    }
+
+    /**
+     * Bulk upsert keyed on sku. The raw body is CSV with a header row or NDJSON; the format comes
+     * from {@code format} or else the Content-Type. Empty fields leave the stored value unchanged.
+     */
+    @PostMapping("/import")
+    public ResponseEntity<Result<ProductImportReport>> importProducts(@RequestParam(required = false) String format,
+                                                                      HttpServletRequest request) {
+        String contentType = request.getContentType();
+        // Form and multipart bodies are consumed by the container's parameter parsing
+        if (contentType != null && (contentType.startsWith("multipart/")
+                || contentType.startsWith(MediaType.APPLICATION_FORM_URLENCODED_VALUE))) {
+            return ResponseEntity.badRequest().body(Result.error(400, "Send the file as the raw request body"));
+        }
+        if (format == null) {
+            format = contentType != null && contentType.contains("json")
+                    ? ProductImportService.NDJSON : ProductImportService.CSV;
+        }
+        if (!ProductImportService.CSV.equals(format) && !ProductImportService.NDJSON.equals(format)) {
+            return ResponseEntity.badRequest().body(Result.error(400, "Unsupported format: " + format));
+        }
+        try (InputStream in = request.getInputStream()) {
+            return ResponseEntity.ok(Result.success(productImportService.importProducts(format, in)));
+        } catch (IOException e) {
+            log.error("Product import failed", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Result.error(500, "Import failed: " + e.getMessage()));
+        }
     }
 
     @DeleteMapping("/{id}")
     public Result<Boolean> delete(@PathVariable Long id) {
         return Result.success(productService.removeById(id));
     }
+
+    private static Map<String, String> parseSpecs(String[] params) {
+        if (params == null) {
+            return Map.of();
+        }
+        Map<String, String> specs = new LinkedHashMap<>();
+        for (String param : params) {
+            int colon = param.indexOf(':');
+            if (colon <= 0 || colon == param.length() - 1) {
+                throw new IllegalArgumentException("Invalid spec filter, expected key:value: " + param);
+            }
+            specs.put(param.substring(0, colon).trim(), param.substring(colon + 1).trim());
+        }
+        return specs;
+    }
 }
@@ -0,0 +1,23 @@
+package com.tc.backend.controller;
+
+import com.tc.backend.common.DashboardStats;
+import com.tc.backend.common.Result;
+import com.tc.backend.service.StatsRollupService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/stats")
+@RequiredArgsConstructor
+public class StatsController {
+
+    private final StatsRollupService statsRollupService;
+
+    @GetMapping
+    public Result<DashboardStats> stats(@RequestParam(defaultValue = "30") Integer days) {
+        return Result.success(statsRollupService.stats(days));
+    }
+}
@@ -0,0 +1,207 @@
+package com.tc.backend.controller;
+
+import com.tc.backend.common.ETags;
+import com.tc.backend.service.HotFileCache;
+import com.tc.backend.service.ResponseCompressor;
+import com.tc.backend.service.UploadStorageService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Serves /uploads/** with caching headers, conditional GETs and single byte ranges.
+ * Large bodies go out through Tomcat's sendfile when the connector offers it, otherwise through
+ * FileChannel.transferTo; small hot files come from an in-memory LRU, gzipped when the client
+ * accepts it and the type is not already compressed.
+ */
+@RestController
+@RequiredArgsConstructor
+public class UploadFileController {
+
+    // <sha256>.ext or <sha256>_<variant>.ext, as written by UploadStorageService
+    private static final Pattern CONTENT_NAMED = Pattern.compile("^([0-9a-f]{64}(?:_[a-z]+)?)\\.[a-z0-9]+$");
+    private static final Pattern RANGE = Pattern.compile("^bytes=(\\d*)-(\\d*)$");
+
+    private static final String IMMUTABLE = "public, max-age=31536000, immutable";
+    private static final String REVALIDATE = "no-cache";
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final UploadStorageService uploadStorageService;
+    private final HotFileCache hotFileCache;
+    private final ResponseCompressor responseCompressor;
+
+    @GetMapping(UploadStorageService.URL_PREFIX + "**")
+    public void serve(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String within = (String) request.getAttribute(HandlerMapping.PATH_WITHIN_HANDLER_MAPPING_ATTRIBUTE);
+        Path root = uploadStorageService.uploadRoot().toAbsolutePath().normalize();
+        Path file = root.resolve(within.substring(UploadStorageService.URL_PREFIX.length())).normalize();
+        if (!file.startsWith(root) || hidden(root.relativize(file))) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        BasicFileAttributes attrs;
+        try {
+            attrs = Files.readAttributes(file, BasicFileAttributes.class);
+        } catch (NoSuchFileException e) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        if (!attrs.isRegularFile()) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        long length = attrs.size();
+        long lastModified = attrs.lastModifiedTime().toMillis();
+        Matcher named = CONTENT_NAMED.matcher(file.getFileName().toString());
+        boolean immutable = named.matches();
+        // Content-named files are identified by their hash; anything else by size and mtime
+        String etag = "\"" + (immutable ? named.group(1) : Long.toHexString(length) + "-" + Long.toHexString(lastModified)) + "\"";
+
+        String contentType = request.getServletContext().getMimeType(file.getFileName().toString());
+        response.setContentType(contentType != null ? contentType : "application/octet-stream");
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, immutable ? IMMUTABLE : REVALIDATE);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setDateHeader(HttpHeaders.LAST_MODIFIED, lastModified);
+        boolean compressible = ResponseCompressor.compressible(contentType);
+        if (compressible) {
+            response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+
+        if (ETags.matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        long start = 0;
+        long end = length;
+        String range = request.getHeader(HttpHeaders.RANGE);
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (range != null && (ifRange == null || ifRange.equals(etag))) {
+            long[] bounds = parseRange(range, length);
+            if (bounds == null) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+            if (bounds.length == 2) {
+                start = bounds[0];
+                end = bounds[1];
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + (end - 1) + "/" + length);
+            }
+        }
+        boolean head = "HEAD".equals(request.getMethod());
+
+        // Only whole bodies are gzipped; a range always addresses the identity bytes
+        if (compressible && !head && end - start == length && hotFileCache.accepts(length)
+                && ResponseCompressor.acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING))) {
+            byte[] gzip = responseCompressor.gzip(hot(file, length, lastModified));
+            if (gzip != null) {
+                response.setHeader(HttpHeaders.ETAG, "W/" + etag);
+                response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+                response.setContentLength(gzip.length);
+                response.getOutputStream().write(gzip);
+                return;
+            }
+        }
+        response.setContentLengthLong(end - start);
+        if (head) {
+            return;
+        }
+
+        if (hotFileCache.accepts(length)) {
+            byte[] bytes = hot(file, length, lastModified).identity();
+            response.getOutputStream().write(bytes, (int) start, (int) (end - start));
+            return;
+        }
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            // Tomcat writes the file with sendfile after this method returns
+            request.setAttribute(SENDFILE_FILENAME, file.toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end);
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            OutputStream out = response.getOutputStream();
+            WritableByteChannel target = Channels.newChannel(out);
+            long position = start;
+            while (position < end) {
+                position += channel.transferTo(position, end - position, target);
+            }
+        }
+    }
+
+    private ResponseCompressor.Payload hot(Path file, long length, long lastModified) throws IOException {
+        String key = file.toString();
+        ResponseCompressor.Payload payload = hotFileCache.get(key, length, lastModified);
+        return payload != null ? payload : hotFileCache.put(key, Files.readAllBytes(file), lastModified);
+    }
+
+    // Dot-directories under the root (uploads/.tmp while a file is being written) are never served
+    private static boolean hidden(Path relative) {
+        for (Path segment : relative) {
+            if (segment.toString().startsWith(".")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns {start, endExclusive} for a single satisfiable range, an empty array when the header
+     * should be ignored (multiple ranges or garbage), or null when the range is unsatisfiable.
+     */
+    private static long[] parseRange(String header, long length) {
+        Matcher m = RANGE.matcher(header.trim());
+        if (!m.matches() || (m.group(1).isEmpty() && m.group(2).isEmpty())) {
+            return new long[0];
+        }
+        try {
+            long start;
+            long end;
+            if (m.group(1).isEmpty()) {
+                long suffix = Long.parseLong(m.group(2));
+                if (suffix == 0) {
+                    return null;
+                }
+                start = Math.max(0, length - suffix);
+                end = length;
+            } else {
+                start = Long.parseLong(m.group(1));
+                end = m.group(2).isEmpty() ? length : Math.min(length, Long.parseLong(m.group(2)) + 1);
+            }
+            if (start >= length || start >= end) {
+                return null;
+            }
+            return new long[]{start, end};
+        } catch (NumberFormatException e) {
+            return new long[0];
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.tc.backend.entity;
+
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@TableName("product_spec")
+public class ProductSpec {
+    private Long productId;
+    private String specKey;
+    private String specValue;
+}
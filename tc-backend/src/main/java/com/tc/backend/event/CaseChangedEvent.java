@@ -0,0 +1,14 @@
+package com.tc.backend.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Published by CustomerCaseService after a case row is inserted, updated or deleted.
+ */
+@Getter
+@RequiredArgsConstructor
+public class CaseChangedEvent {
+    private final Long caseId;
+    private final boolean deleted;
+}
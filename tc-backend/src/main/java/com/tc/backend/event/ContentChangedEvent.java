@@ -0,0 +1,13 @@
+package com.tc.backend.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Published by ContentItemService after a content item is inserted, updated or deleted.
+ */
+@Getter
+@RequiredArgsConstructor
+public class ContentChangedEvent {
+    private final Long contentId;
+}
@@ -0,0 +1,16 @@
+package com.tc.backend.event;
+
+import com.tc.backend.entity.Inquiry;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Published by InquiryService for every inquiry row written. {@code before} is null for an insert,
+ * {@code after} is null for a delete.
+ */
+@Getter
+@RequiredArgsConstructor
+public class InquiryChangedEvent {
+    private final Inquiry before;
+    private final Inquiry after;
+}
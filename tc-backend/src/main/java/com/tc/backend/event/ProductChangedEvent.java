@@ -0,0 +1,14 @@
+package com.tc.backend.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Published by ProductService after a product row is inserted, updated or deleted.
+ */
+@Getter
+@RequiredArgsConstructor
+public class ProductChangedEvent {
+    private final Long productId;
+    private final boolean deleted;
+}
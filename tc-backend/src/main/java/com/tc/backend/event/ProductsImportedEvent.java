@@ -0,0 +1,14 @@
+package com.tc.backend.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Published by ProductImportService once a bulk import has written rows. Stands in for the
+ * per-row ProductChangedEvents, so listeners reload once instead of applying every row.
+ */
+@Getter
+@RequiredArgsConstructor
+public class ProductsImportedEvent {
+    private final int rows;
+}
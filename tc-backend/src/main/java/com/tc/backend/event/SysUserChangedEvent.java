@@ -0,0 +1,13 @@
+package com.tc.backend.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Published by SysUserService after an admin account is updated or deleted.
+ */
+@Getter
+@RequiredArgsConstructor
+public class SysUserChangedEvent {
+    private final Long userId;
+}
@@ -1,9 +1,41 @@
 package com.tc.backend.mapper;
 
+import com.baomidou.mybatisplus.core.conditions.Wrapper;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.baomidou.mybatisplus.core.toolkit.Constants;
 import com.tc.backend.entity.Inquiry;
+import org.apache.ibatis.annotations.Insert;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Options;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.ResultType;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.mapping.ResultSetType;
+import org.apache.ibatis.session.ResultHandler;
+
+import java.util.List;
 
 @Mapper
 public interface InquiryMapper extends BaseMapper<Inquiry> {
+
+    /**
+     * Inserts all rows with a single multi-row INSERT and writes the generated ids back.
+     */
+    @Insert("<script>" +
+            "INSERT INTO inquiry (name, phone, email, content, status, create_time) VALUES " +
+            "<foreach collection='list' item='i' separator=','>" +
+            "(#{i.name}, #{i.phone}, #{i.email}, #{i.content}, #{i.status}, #{i.createTime})" +
+            "</foreach>" +
+            "</script>")
+    @Options(useGeneratedKeys = true, keyProperty = "id")
+    int insertBatch(List<Inquiry> list);
+
+    /**
+     * Hands matching rows to the handler one at a time. A fetch size of Integer.MIN_VALUE makes
+     * Connector/J stream the result set instead of buffering it.
+     */
+    @Select("SELECT id, name, phone, email, content, status, create_time FROM inquiry ${ew.customSqlSegment}")
+    @Options(resultSetType = ResultSetType.FORWARD_ONLY, fetchSize = Integer.MIN_VALUE)
+    @ResultType(Inquiry.class)
+    void streamAll(@Param(Constants.WRAPPER) Wrapper<Inquiry> wrapper, ResultHandler<Inquiry> handler);
 }
@@ -2,6 +2,26 @@ package com.tc.backend.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.tc.backend.entity.Product;
+import org.apache.ibatis.annotations.Insert;
 
 public interface ProductMapper extends BaseMapper<Product> {
+
+    /**
+     * Inserts the product, or updates the row with the same sku. Null fields keep the stored value.
+     * The UPDATE part only refers to VALUES(), so Connector/J can still rewrite a JDBC batch of
+     * these into multi-row INSERTs when rewriteBatchedStatements is on.
+     */
+    @Insert("INSERT INTO product (name, sku, category, price, status, image, description, specs, is_featured) VALUES " +
+            "(#{name}, #{sku}, #{category}, #{price}, #{status}, #{image}, #{description}, " +
+            "#{specs,typeHandler=com.baomidou.mybatisplus.extension.handlers.JacksonTypeHandler}, #{isFeatured}) " +
+            "ON DUPLICATE KEY UPDATE " +
+            "name = COALESCE(VALUES(name), name), " +
+            "category = COALESCE(VALUES(category), category), " +
+            "price = COALESCE(VALUES(price), price), " +
+            "status = COALESCE(VALUES(status), status), " +
+            "image = COALESCE(VALUES(image), image), " +
+            "description = COALESCE(VALUES(description), description), " +
+            "specs = COALESCE(VALUES(specs), specs), " +
+            "is_featured = COALESCE(VALUES(is_featured), is_featured)")
+    int upsert(Product product);
 }
@@ -0,0 +1,20 @@
+package com.tc.backend.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.tc.backend.entity.ProductSpec;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Mapper;
+
+import java.util.List;
+
+@Mapper
+public interface ProductSpecMapper extends BaseMapper<ProductSpec> {
+
+    @Insert("<script>" +
+            "INSERT INTO product_spec (product_id, spec_key, spec_value) VALUES " +
+            "<foreach collection='list' item='s' separator=','>" +
+            "(#{s.productId}, #{s.specKey}, #{s.specValue})" +
+            "</foreach>" +
+            "</script>")
+    int insertBatch(List<ProductSpec> list);
+}
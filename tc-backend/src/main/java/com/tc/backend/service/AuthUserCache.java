@@ -0,0 +1,101 @@
+package com.tc.backend.service;
+
+import cn.dev33.satoken.stp.StpUtil;
+import com.tc.backend.entity.SysUser;
+import com.tc.backend.event.SysUserChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Token -> logged-in user, so repeated admin calls skip the sys_user query. The token itself is
+ * still resolved through Sa-Token on every call, so a kicked-out, replaced or expired token stops
+ * working at once. Entries expire after a short TTL (never later than the token itself), are
+ * evicted on logout and dropped whenever the user row changes.
+ */
+@Component
+public class AuthUserCache {
+
+    private final SysUserService sysUserService;
+    private final int maxEntries;
+    private final long ttlMillis;
+
+    private final Map<String, Entry> entries;
+
+    public AuthUserCache(SysUserService sysUserService,
+                         @Value("${tc.auth.user-cache-size:1024}") int maxEntries,
+                         @Value("${tc.auth.user-cache-ttl-seconds:60}") long ttlSeconds) {
+        this.sysUserService = sysUserService;
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.entries = new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > AuthUserCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Returns the user behind the current request's token, or null if it is not logged in.
+     * The returned object is a projection without the password and must not be modified.
+     */
+    public SysUser currentUser() {
+        String token = StpUtil.getTokenValue();
+        if (token == null) {
+            return null;
+        }
+        Object loginId = StpUtil.getLoginIdByToken(token);
+        if (loginId == null) {
+            evict(token);
+            return null;
+        }
+        long userId = Long.parseLong(loginId.toString());
+        long now = System.currentTimeMillis();
+        synchronized (this) {
+            Entry entry = entries.get(token);
+            if (entry != null && entry.expiresAt > now && entry.user.getId() == userId) {
+                return entry.user;
+            }
+        }
+
+        SysUser user = sysUserService.getById(userId);
+        if (user == null) {
+            return null;
+        }
+        SysUser projection = project(user);
+
+        long tokenTimeout = StpUtil.getTokenTimeout(token);
+        long expiresAt = now + (tokenTimeout > 0 ? Math.min(ttlMillis, tokenTimeout * 1000) : ttlMillis);
+        synchronized (this) {
+            entries.put(token, new Entry(projection, expiresAt));
+        }
+        return projection;
+    }
+
+    public synchronized void evict(String token) {
+        if (token != null) {
+            entries.remove(token);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onUserChanged(SysUserChangedEvent event) {
+        entries.values().removeIf(e -> event.getUserId().equals(e.user.getId()));
+    }
+
+    private static SysUser project(SysUser user) {
+        SysUser projection = new SysUser();
+        projection.setId(user.getId());
+        projection.setUsername(user.getUsername());
+        projection.setRole(user.getRole());
+        projection.setCreateTime(user.getCreateTime());
+        return projection;
+    }
+
+    private record Entry(SysUser user, long expiresAt) {
+    }
+}
@@ -3,5 +3,12 @@ package com.tc.backend.service;
 import com.baomidou.mybatisplus.extension.service.IService;
 import com.tc.backend.entity.Category;
 
+import java.util.List;
+
 public interface CategoryService extends IService<Category> {
+
+    /**
+     * All categories by sort order; concurrent callers share one query and the returned list.
+     */
+    List<Category> listOrdered();
 }
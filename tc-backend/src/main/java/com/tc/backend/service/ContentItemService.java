@@ -1,10 +1,73 @@
 package com.tc.backend.service;
 
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import com.tc.backend.entity.ContentItem;
+import com.tc.backend.event.ContentChangedEvent;
 import com.tc.backend.mapper.ContentItemMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
+import java.io.Serializable;
+import java.util.List;
+
 @Service
+@RequiredArgsConstructor
 public class ContentItemService extends ServiceImpl<ContentItemMapper, ContentItem> {
+
+    private final ApplicationEventPublisher eventPublisher;
+    private final SingleFlight singleFlight;
+    private final ContentResponseCache contentResponseCache;
+
+    /**
+     * A section's items by sort order; concurrent callers share one query and the returned list.
+     */
+    public List<ContentItem> listBySection(String section) {
+        return singleFlight.load("content", flightKey(section), () -> list(new LambdaQueryWrapper<ContentItem>()
+                .eq(ContentItem::getSection, section)
+                .orderByAsc(ContentItem::getSortOrder)));
+    }
+
+    /**
+     * Every item by section and sort order; concurrent callers share one query and the returned list.
+     */
+    public List<ContentItem> listAll() {
+        return singleFlight.load("content", flightKey("*all"), () -> list(new LambdaQueryWrapper<ContentItem>()
+                .orderByAsc(ContentItem::getSection)
+                .orderByAsc(ContentItem::getSortOrder)));
+    }
+
+    // Keyed by the content version too: a caller that has seen a write's version bump must not
+    // join a load that began before the write, or its stale result would be cached as current
+    private String flightKey(String key) {
+        return key + "@" + contentResponseCache.version();
+    }
+
+    @Override
+    public boolean save(ContentItem entity) {
+        boolean saved = super.save(entity);
+        if (saved) {
+            eventPublisher.publishEvent(new ContentChangedEvent(entity.getId()));
+        }
+        return saved;
+    }
+
+    @Override
+    public boolean updateById(ContentItem entity) {
+        boolean updated = super.updateById(entity);
+        if (updated) {
+            eventPublisher.publishEvent(new ContentChangedEvent(entity.getId()));
+        }
+        return updated;
+    }
+
+    @Override
+    public boolean removeById(Serializable id) {
+        boolean removed = super.removeById(id);
+        if (removed) {
+            eventPublisher.publishEvent(new ContentChangedEvent(((Number) id).longValue()));
+        }
+        return removed;
+    }
 }
@@ -0,0 +1,52 @@
+package com.tc.backend.service;
+
+import com.tc.backend.event.ContentChangedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Versions and ETags of the content endpoints, whose serialized bodies live in the
+ * {@link ResponseBodyCache} keyed by section. Every content write bumps the version, which changes
+ * all ETags and retires the stored bodies.
+ */
+@Component
+@RequiredArgsConstructor
+public class ContentResponseCache {
+
+    private static final String KEY_PREFIX = "content:";
+
+    private final ResponseBodyCache responseBodyCache;
+
+    // Seeded from the clock so ETags handed out before a restart never match again
+    private final AtomicLong version = new AtomicLong(System.currentTimeMillis());
+
+    public long version() {
+        return version.get();
+    }
+
+    public String etag(String key) {
+        return etag(key, version.get());
+    }
+
+    public Entry get(String key, Supplier<?> loader) {
+        long current = version.get();
+        return new Entry(etag(key, current), responseBodyCache.get(KEY_PREFIX + key, current, loader));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onContentChanged(ContentChangedEvent event) {
+        version.incrementAndGet();
+    }
+
+    private static String etag(String key, long version) {
+        // Hash the key so arbitrary path segments stay header-safe; weak, as the body may be gzipped
+        return "W/\"" + Integer.toHexString(key.hashCode()) + "-" + version + "\"";
+    }
+
+    public record Entry(String etag, ResponseCompressor.Payload body) {
+    }
+}
@@ -2,9 +2,44 @@ package com.tc.backend.service;
 
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import com.tc.backend.entity.CustomerCase;
+import com.tc.backend.event.CaseChangedEvent;
 import com.tc.backend.mapper.CustomerCaseMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
+import java.io.Serializable;
+
 @Service
+@RequiredArgsConstructor
 public class CustomerCaseService extends ServiceImpl<CustomerCaseMapper, CustomerCase> {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public boolean save(CustomerCase entity) {
+        boolean saved = super.save(entity);
+        if (saved) {
+            eventPublisher.publishEvent(new CaseChangedEvent(entity.getId(), false));
+        }
+        return saved;
+    }
+
+    @Override
+    public boolean updateById(CustomerCase entity) {
+        boolean updated = super.updateById(entity);
+        if (updated) {
+            eventPublisher.publishEvent(new CaseChangedEvent(entity.getId(), false));
+        }
+        return updated;
+    }
+
+    @Override
+    public boolean removeById(Serializable id) {
+        boolean removed = super.removeById(id);
+        if (removed) {
+            eventPublisher.publishEvent(new CaseChangedEvent(((Number) id).longValue(), true));
+        }
+        return removed;
+    }
 }
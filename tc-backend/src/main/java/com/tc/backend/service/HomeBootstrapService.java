@@ -0,0 +1,109 @@
+package com.tc.backend.service;
+
+import com.tc.backend.common.HomeBootstrap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Builds the homepage payload by running its independent queries concurrently and waiting
+ * for them against one shared deadline.
+ */
+@Slf4j
+@Service
+public class HomeBootstrapService {
+
+    private final ProductCatalogIndex productCatalogIndex;
+    private final ContentItemService contentItemService;
+    private final CategoryService categoryService;
+    private final Executor fanOutExecutor;
+    private final long timeoutMillis;
+
+    public HomeBootstrapService(ProductCatalogIndex productCatalogIndex,
+                                ContentItemService contentItemService,
+                                CategoryService categoryService,
+                                @Qualifier("fanOutExecutor") Executor fanOutExecutor,
+                                @Value("${tc.bootstrap.timeout-ms:500}") long timeoutMillis) {
+        this.productCatalogIndex = productCatalogIndex;
+        this.contentItemService = contentItemService;
+        this.categoryService = categoryService;
+        this.fanOutExecutor = fanOutExecutor;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    public HomeBootstrap load(List<String> sections, int featuredSize) {
+        HomeBootstrap result = new HomeBootstrap();
+        Map<String, Double> timings = new ConcurrentHashMap<>();
+        Map<String, Part<?>> parts = new LinkedHashMap<>();
+
+        parts.put("featuredProducts", submit("featuredProducts", timings,
+                () -> productCatalogIndex.page(1, featuredSize, null, true).getRecords(),
+                result::setFeaturedProducts));
+        for (String section : sections) {
+            parts.put("section:" + section, submit("section:" + section, timings,
+                    () -> contentItemService.listBySection(section),
+                    items -> result.getSections().put(section, items)));
+        }
+        parts.put("globalConfig", submit("globalConfig", timings,
+                () -> contentItemService.listBySection("global_config"),
+                result::setGlobalConfig));
+        parts.put("categories", submit("categories", timings,
+                categoryService::listOrdered,
+                result::setCategories));
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        for (Map.Entry<String, Part<?>> entry : parts.entrySet()) {
+            String name = entry.getKey();
+            try {
+                entry.getValue().await(Math.max(0, deadline - System.nanoTime()));
+            } catch (TimeoutException e) {
+                entry.getValue().future.cancel(true);
+                result.getDegraded().add(name);
+                log.warn("Home bootstrap part {} exceeded {} ms", name, timeoutMillis);
+            } catch (ExecutionException e) {
+                result.getDegraded().add(name);
+                log.warn("Home bootstrap part {} failed", name, e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                result.getDegraded().add(name);
+            }
+            Double took = timings.get(name);
+            if (took != null) {
+                result.getTimings().put(name, took);
+            }
+        }
+        return result;
+    }
+
+    private <T> Part<T> submit(String name, Map<String, Double> timings, Supplier<T> query, Consumer<T> sink) {
+        CompletableFuture<T> future = CompletableFuture.supplyAsync(() -> {
+            long start = System.nanoTime();
+            try {
+                return query.get();
+            } finally {
+                timings.put(name, (System.nanoTime() - start) / 1_000_000.0);
+            }
+        }, fanOutExecutor);
+        return new Part<>(future, sink);
+    }
+
+    private record Part<T>(CompletableFuture<T> future, Consumer<T> sink) {
+        // Results are applied on the calling thread, so the payload is never written concurrently
+        void await(long nanos) throws InterruptedException, ExecutionException, TimeoutException {
+            sink.accept(future.get(nanos, TimeUnit.NANOSECONDS));
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.tc.backend.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Least-recently-used bytes of small upload files, bounded by a total byte budget, together with
+ * their gzip encoding once one has been asked for. Entries carry the size and mtime they were
+ * read with, so a replaced file is never served stale.
+ */
+@Component
+public class HotFileCache {
+
+    private final long maxBytes;
+    private final long maxFileBytes;
+
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long usedBytes;
+
+    public HotFileCache(@Value("${tc.upload.cache.max-bytes:33554432}") long maxBytes,
+                        @Value("${tc.upload.cache.max-file-bytes:262144}") long maxFileBytes) {
+        this.maxBytes = maxBytes;
+        this.maxFileBytes = maxFileBytes;
+    }
+
+    public boolean accepts(long size) {
+        return size <= maxFileBytes && size <= maxBytes;
+    }
+
+    public synchronized ResponseCompressor.Payload get(String key, long size, long lastModified) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.size() != size || entry.lastModified != lastModified) {
+            entries.remove(key);
+            usedBytes -= entry.size();
+            return null;
+        }
+        return entry.payload;
+    }
+
+    public synchronized ResponseCompressor.Payload put(String key, byte[] bytes, long lastModified) {
+        ResponseCompressor.Payload payload = new ResponseCompressor.Payload(bytes);
+        if (!accepts(bytes.length)) {
+            return payload;
+        }
+        Entry old = entries.put(key, new Entry(payload, lastModified));
+        if (old != null) {
+            usedBytes -= old.size();
+        }
+        usedBytes += bytes.length;
+        Iterator<Map.Entry<String, Entry>> eldest = entries.entrySet().iterator();
+        while (usedBytes > maxBytes && eldest.hasNext()) {
+            usedBytes -= eldest.next().getValue().size();
+            eldest.remove();
+        }
+        return payload;
+    }
+
+    private record Entry(ResponseCompressor.Payload payload, long lastModified) {
+        int size() {
+            return payload.identity().length;
+        }
+    }
+}
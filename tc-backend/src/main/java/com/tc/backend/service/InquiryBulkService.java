@@ -0,0 +1,141 @@
+package com.tc.backend.service;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
+import com.tc.backend.common.InquiryBulkRequest;
+import com.tc.backend.common.InquiryBulkResult;
+import com.tc.backend.entity.Inquiry;
+import com.tc.backend.event.InquiryChangedEvent;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Status changes and deletes over many inquiries in one transaction. The matching rows are read
+ * (and locked) once, then changed with one {@code UPDATE}/{@code DELETE ... WHERE id IN} per
+ * tc.inquiry.bulk.chunk-size ids. Each changed row still gets its InquiryChangedEvent, so the
+ * dashboard counters and the admin event stream follow along after the commit.
+ */
+@Service
+public class InquiryBulkService {
+
+    public static final String STATUS = "status";
+    public static final String DELETE = "delete";
+
+    private static final int MAX_STATUS = 20;
+
+    private final InquiryService inquiryService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int chunkSize;
+    private final int maxRows;
+
+    public InquiryBulkService(InquiryService inquiryService,
+                              ApplicationEventPublisher eventPublisher,
+                              @Value("${tc.inquiry.bulk.chunk-size:500}") int chunkSize,
+                              @Value("${tc.inquiry.bulk.max-rows:10000}") int maxRows) {
+        this.inquiryService = inquiryService;
+        this.eventPublisher = eventPublisher;
+        this.chunkSize = chunkSize;
+        this.maxRows = maxRows;
+    }
+
+    /**
+     * @throws IllegalArgumentException for an unknown action, a missing or over-long status, no
+     *                                  criteria, or more than tc.inquiry.bulk.max-rows matches
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public InquiryBulkResult apply(InquiryBulkRequest request) {
+        long start = System.currentTimeMillis();
+        String action = request.getAction();
+        String status = request.getStatus() == null ? null : request.getStatus().trim();
+        if (STATUS.equals(action)) {
+            if (!StringUtils.hasText(status) || status.length() > MAX_STATUS) {
+                throw new IllegalArgumentException("status is required, at most " + MAX_STATUS + " characters");
+            }
+        } else if (!DELETE.equals(action)) {
+            throw new IllegalArgumentException("action must be " + STATUS + " or " + DELETE);
+        }
+
+        List<Inquiry> matched = select(request);
+        List<Inquiry> changed = new ArrayList<>(matched.size());
+        for (Inquiry inquiry : matched) {
+            if (DELETE.equals(action) || !status.equals(inquiry.getStatus())) {
+                changed.add(inquiry);
+            }
+        }
+
+        InquiryBulkResult result = new InquiryBulkResult();
+        result.setAction(action);
+        result.setDryRun(request.isDryRun());
+        result.setMatched(matched.size());
+        if (request.isDryRun()) {
+            result.setAffected(changed.size());
+        } else {
+            int affected = 0;
+            int statements = 0;
+            for (int from = 0; from < changed.size(); from += chunkSize) {
+                List<Long> ids = changed.subList(from, Math.min(from + chunkSize, changed.size())).stream()
+                        .map(Inquiry::getId)
+                        .toList();
+                affected += DELETE.equals(action)
+                        ? inquiryService.getBaseMapper().delete(new LambdaQueryWrapper<Inquiry>().in(Inquiry::getId, ids))
+                        : inquiryService.getBaseMapper().update(null, new LambdaUpdateWrapper<Inquiry>()
+                                .set(Inquiry::getStatus, status)
+                                .in(Inquiry::getId, ids));
+                statements++;
+            }
+            result.setAffected(affected);
+            result.setStatements(statements);
+            for (Inquiry before : changed) {
+                eventPublisher.publishEvent(new InquiryChangedEvent(before, DELETE.equals(action) ? null : withStatus(before, status)));
+            }
+        }
+        result.setTookMs(System.currentTimeMillis() - start);
+        return result;
+    }
+
+    private List<Inquiry> select(InquiryBulkRequest request) {
+        List<Long> ids = request.getIds();
+        InquiryBulkRequest.Filter filter = request.getFilter();
+        boolean byIds = ids != null && !ids.isEmpty();
+        boolean byStatus = filter != null && StringUtils.hasText(filter.getStatus());
+        boolean byFrom = filter != null && filter.getFrom() != null;
+        boolean byTo = filter != null && filter.getTo() != null;
+        boolean byEmail = filter != null && StringUtils.hasText(filter.getEmail());
+        if (!byIds && !byStatus && !byFrom && !byTo && !byEmail) {
+            throw new IllegalArgumentException("ids or a filter is required");
+        }
+        if (byIds && ids.size() > maxRows) {
+            throw new IllegalArgumentException("At most " + maxRows + " ids per request");
+        }
+
+        LambdaQueryWrapper<Inquiry> wrapper = new LambdaQueryWrapper<Inquiry>()
+                .in(byIds, Inquiry::getId, ids)
+                .eq(byStatus, Inquiry::getStatus, byStatus ? filter.getStatus().trim() : null)
+                .ge(byFrom, Inquiry::getCreateTime, byFrom ? filter.getFrom().atStartOfDay() : null)
+                .lt(byTo, Inquiry::getCreateTime, byTo ? filter.getTo().plusDays(1).atStartOfDay() : null)
+                .eq(byEmail, Inquiry::getEmail, byEmail ? filter.getEmail().trim() : null)
+                .orderByAsc(Inquiry::getId)
+                // One row past the limit tells a too-broad filter apart; the lock keeps each row's
+                // before image exact until the changes commit
+                .last("LIMIT " + (maxRows + 1) + (request.isDryRun() ? "" : " FOR UPDATE"));
+        List<Inquiry> rows = inquiryService.list(wrapper);
+        if (rows.size() > maxRows) {
+            throw new IllegalArgumentException("More than " + maxRows + " inquiries match; narrow the filter");
+        }
+        return rows;
+    }
+
+    private static Inquiry withStatus(Inquiry before, String status) {
+        Inquiry after = new Inquiry();
+        BeanUtils.copyProperties(before, after);
+        after.setStatus(status);
+        return after;
+    }
+}
@@ -0,0 +1,280 @@
+package com.tc.backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tc.backend.entity.Inquiry;
+import com.tc.backend.event.InquiryChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes every committed inquiry change to the admin consoles subscribed over server-sent events:
+ * {@code created} and {@code updated} carry the row, {@code deleted} its id. Connections hold no
+ * thread; a small pool writes to whichever subscribers have events pending.
+ * <p>
+ * The last tc.inquiry.stream.buffer events are kept, so a client reconnecting with Last-Event-ID
+ * gets what it missed, or a {@code reset} event telling it to reload when that is no longer
+ * buffered. A subscriber with more than tc.inquiry.stream.max-pending unsent events is dropped;
+ * its browser reconnects and resumes from the buffer. Idle connections get a comment every
+ * tc.inquiry.stream.heartbeat-ms so proxies keep them open and dead ones are noticed.
+ */
+@Slf4j
+@Component
+public class InquiryEventStream {
+
+    public static final String CREATED = "created";
+    public static final String UPDATED = "updated";
+    public static final String DELETED = "deleted";
+    public static final String RESET = "reset";
+
+    private final ObjectMapper objectMapper;
+    private final int maxSubscribers;
+    private final int maxPending;
+    private final long timeoutMillis;
+    private final ThreadPoolExecutor senders;
+    private final Counter slowEvictions;
+    private final Counter rejectedSubscribers;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    // Guarded by itself: appending an event and handing it to the subscribers is one step, so a
+    // subscriber registering with a replay can neither miss an event nor receive it twice
+    private final Event[] ring;
+    private long lastId;
+    private int ringSize;
+
+    public InquiryEventStream(ObjectMapper objectMapper,
+                              MeterRegistry meterRegistry,
+                              @Value("${tc.inquiry.stream.buffer:1024}") int bufferSize,
+                              @Value("${tc.inquiry.stream.max-subscribers:200}") int maxSubscribers,
+                              @Value("${tc.inquiry.stream.max-pending:256}") int maxPending,
+                              @Value("${tc.inquiry.stream.timeout-ms:1800000}") long timeoutMillis,
+                              @Value("${tc.inquiry.stream.threads:2}") int threads) {
+        this.objectMapper = objectMapper;
+        this.maxSubscribers = maxSubscribers;
+        this.maxPending = maxPending;
+        this.timeoutMillis = timeoutMillis;
+        this.ring = new Event[bufferSize];
+        // Ids keep rising across restarts, so an id from before one is recognised as not buffered
+        this.lastId = System.currentTimeMillis() * 1000;
+        AtomicInteger seq = new AtomicInteger();
+        this.senders = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                // Each subscriber is queued at most once at a time
+                new ArrayBlockingQueue<>(Math.max(1, maxSubscribers)),
+                r -> {
+                    Thread t = new Thread(r, "inquiry-sse-" + seq.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+
+        Gauge.builder("tc.inquiry.stream.subscribers", subscribers, Set::size)
+                .description("Open inquiry event streams")
+                .register(meterRegistry);
+        this.slowEvictions = Counter.builder("tc.inquiry.stream.evicted")
+                .description("Inquiry event streams closed because the client fell behind")
+                .register(meterRegistry);
+        this.rejectedSubscribers = Counter.builder("tc.inquiry.stream.rejected")
+                .description("Inquiry event streams refused at tc.inquiry.stream.max-subscribers")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Opens a stream, replaying the buffered events after {@code lastEventId} first. Returns null
+     * when the subscriber limit is reached.
+     */
+    public SseEmitter subscribe(String lastEventId) {
+        if (subscribers.size() >= maxSubscribers) {
+            rejectedSubscribers.increment();
+            return null;
+        }
+        Subscriber subscriber = new Subscriber(new SseEmitter(timeoutMillis));
+        subscriber.emitter.onCompletion(() -> subscribers.remove(subscriber));
+        subscriber.emitter.onTimeout(subscriber::close);
+        subscriber.emitter.onError(e -> subscriber.close());
+
+        Long resumeFrom = parseId(lastEventId);
+        synchronized (ring) {
+            if (resumeFrom != null) {
+                long oldest = lastId - ringSize + 1;
+                // Too far behind to catch up event by event is a reset too
+                if (resumeFrom < oldest - 1 || resumeFrom > lastId || lastId - resumeFrom > maxPending) {
+                    subscriber.pending.add(new Event(lastId, RESET, "{}"));
+                } else {
+                    for (long id = resumeFrom + 1; id <= lastId; id++) {
+                        subscriber.pending.add(ring[(int) (id % ring.length)]);
+                    }
+                }
+            }
+            subscribers.add(subscriber);
+        }
+        subscriber.schedule();
+        return subscriber.emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onInquiryChanged(InquiryChangedEvent event) {
+        Inquiry after = event.getAfter();
+        if (after == null && event.getBefore() == null) {
+            return;
+        }
+        try {
+            if (after == null) {
+                publish(DELETED, objectMapper.writeValueAsString(Map.of("id", event.getBefore().getId())));
+            } else {
+                publish(event.getBefore() == null ? CREATED : UPDATED, objectMapper.writeValueAsString(after));
+            }
+        } catch (JsonProcessingException e) {
+            log.warn("Could not serialize inquiry event", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${tc.inquiry.stream.heartbeat-ms:15000}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.idle.getAndSet(true)) {
+                subscriber.offer(Event.HEARTBEAT);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        senders.shutdownNow();
+        for (Subscriber subscriber : subscribers) {
+            subscriber.emitter.complete();
+        }
+    }
+
+    private void publish(String name, String json) {
+        synchronized (ring) {
+            Event event = new Event(++lastId, name, json);
+            ring[(int) (event.id % ring.length)] = event;
+            ringSize = Math.min(ringSize + 1, ring.length);
+            for (Subscriber subscriber : subscribers) {
+                subscriber.offer(event);
+            }
+        }
+    }
+
+    private static Long parseId(String id) {
+        if (id == null || id.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(id.trim());
+        } catch (NumberFormatException e) {
+            return Long.MIN_VALUE;
+        }
+    }
+
+    private record Event(long id, String name, String data) {
+        static final Event HEARTBEAT = new Event(0, null, null);
+
+        SseEmitter.SseEventBuilder toSse() {
+            if (this == HEARTBEAT) {
+                return SseEmitter.event().comment("");
+            }
+            return SseEmitter.event().id(Long.toString(id)).name(name).data(data);
+        }
+    }
+
+    private final class Subscriber implements Runnable {
+        final SseEmitter emitter;
+        final ArrayDeque<Event> pending = new ArrayDeque<>();
+        final AtomicBoolean scheduled = new AtomicBoolean();
+        // Cleared by every event sent, so only connections quiet for a whole interval get a heartbeat
+        final AtomicBoolean idle = new AtomicBoolean(true);
+        volatile boolean closed;
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void offer(Event event) {
+            synchronized (pending) {
+                if (closed) {
+                    return;
+                }
+                if (pending.size() >= maxPending) {
+                    slowEvictions.increment();
+                    log.info("Dropping inquiry stream with {} events unsent", pending.size());
+                    pending.clear();
+                    close();
+                    return;
+                }
+                pending.add(event);
+            }
+            schedule();
+        }
+
+        void schedule() {
+            if (!closed && scheduled.compareAndSet(false, true)) {
+                try {
+                    senders.execute(this);
+                } catch (RejectedExecutionException e) {
+                    scheduled.set(false);
+                    close();
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                Event event;
+                synchronized (pending) {
+                    event = closed ? null : pending.poll();
+                }
+                if (event == null) {
+                    scheduled.set(false);
+                    // An offer may have landed between the poll and the reset
+                    synchronized (pending) {
+                        if (closed || pending.isEmpty() || !scheduled.compareAndSet(false, true)) {
+                            return;
+                        }
+                    }
+                    continue;
+                }
+                try {
+                    emitter.send(event.toSse());
+                    if (event != Event.HEARTBEAT) {
+                        idle.set(false);
+                    }
+                } catch (IOException | IllegalStateException e) {
+                    // Client gone or emitter already completed
+                    close();
+                    return;
+                }
+            }
+        }
+
+        void close() {
+            closed = true;
+            subscribers.remove(this);
+            try {
+                emitter.complete();
+            } catch (IllegalStateException ignored) {
+                // Completed already
+            }
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.tc.backend.service;
+
+import com.baomidou.mybatisplus.core.conditions.Wrapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tc.backend.entity.Inquiry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Writes inquiries row by row as they come off the database cursor, so memory use
+ * does not depend on how many rows are exported.
+ */
+@Service
+@RequiredArgsConstructor
+public class InquiryExportService {
+
+    public static final String CSV = "csv";
+    public static final String NDJSON = "ndjson";
+
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final InquiryService inquiryService;
+    private final ObjectMapper objectMapper;
+
+    public void export(String format, Wrapper<Inquiry> wrapper, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        try {
+            if (NDJSON.equals(format)) {
+                inquiryService.stream(wrapper, row -> writeJsonLine(writer, row));
+            } else {
+                // BOM so Excel opens the Chinese text as UTF-8
+                writer.write('\uFEFF');
+                writer.write("id,name,phone,email,content,status,create_time\r\n");
+                inquiryService.stream(wrapper, row -> writeCsvLine(writer, row));
+            }
+        } catch (RuntimeException e) {
+            // MyBatis wraps whatever the handler throws; surface a client disconnect as the IOException it is
+            for (Throwable t = e; t != null; t = t.getCause()) {
+                if (t instanceof UncheckedIOException io) {
+                    throw io.getCause();
+                }
+            }
+            throw e;
+        }
+        writer.flush();
+    }
+
+    private void writeJsonLine(Writer writer, Inquiry row) {
+        try {
+            writer.write(objectMapper.writeValueAsString(row));
+            writer.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeCsvLine(Writer writer, Inquiry row) {
+        try {
+            writer.write(String.valueOf(row.getId()));
+            writer.write(',');
+            writeCsvField(writer, row.getName());
+            writer.write(',');
+            writeCsvField(writer, row.getPhone());
+            writer.write(',');
+            writeCsvField(writer, row.getEmail());
+            writer.write(',');
+            writeCsvField(writer, row.getContent());
+            writer.write(',');
+            writeCsvField(writer, row.getStatus());
+            writer.write(',');
+            writeCsvField(writer, row.getCreateTime() == null ? null : TIME_FORMAT.format(row.getCreateTime()));
+            writer.write("\r\n");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeCsvField(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (!value.isEmpty() && "=+-@\t\r".indexOf(value.charAt(0)) >= 0) {
+            // Spreadsheets would run a cell starting like this as a formula; the quote keeps it text
+            value = "'" + value;
+        }
+        boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
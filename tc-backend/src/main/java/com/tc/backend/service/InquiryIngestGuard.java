@@ -0,0 +1,120 @@
+package com.tc.backend.service;
+
+import cn.hutool.core.lang.hash.MurmurHash;
+import com.tc.backend.common.RotatingBloomFilter;
+import com.tc.backend.common.StripedTokenBuckets;
+import com.tc.backend.entity.Inquiry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * In-memory checks in front of InquiryIngestQueue, so a bot flood is turned away before any
+ * database work: token buckets per client IP and per email, then a rotating bloom filter that
+ * catches resubmissions of the same name, phone, email and content inside the duplicate window.
+ */
+@Component
+public class InquiryIngestGuard {
+
+    public enum Verdict {
+        ACCEPT, RATE_LIMITED, DUPLICATE
+    }
+
+    private static final char SEPARATOR = '\u0001';
+
+    private final StripedTokenBuckets ipBuckets;
+    private final StripedTokenBuckets emailBuckets;
+    private final RotatingBloomFilter recent;
+
+    private final Counter ipLimited;
+    private final Counter emailLimited;
+    private final Counter duplicates;
+
+    public InquiryIngestGuard(MeterRegistry meterRegistry,
+                              @Value("${tc.inquiry.guard.stripes:4096}") int stripes,
+                              @Value("${tc.inquiry.guard.ip-burst:5}") int ipBurst,
+                              @Value("${tc.inquiry.guard.ip-per-minute:5}") double ipPerMinute,
+                              @Value("${tc.inquiry.guard.email-burst:3}") int emailBurst,
+                              @Value("${tc.inquiry.guard.email-per-minute:1}") double emailPerMinute,
+                              @Value("${tc.inquiry.guard.duplicate-window-minutes:10}") long windowMinutes,
+                              @Value("${tc.inquiry.guard.duplicate-expected:100000}") long expected) {
+        this.ipBuckets = new StripedTokenBuckets(stripes, ipBurst, ipPerMinute);
+        this.emailBuckets = new StripedTokenBuckets(stripes, emailBurst, emailPerMinute);
+        // Two generations, so the window is covered by rotating every half window
+        this.recent = new RotatingBloomFilter(expected, 0.001, Duration.ofMinutes(windowMinutes).dividedBy(2));
+
+        this.ipLimited = rejected(meterRegistry, "ip_rate");
+        this.emailLimited = rejected(meterRegistry, "email_rate");
+        this.duplicates = rejected(meterRegistry, "duplicate");
+    }
+
+    private static Counter rejected(MeterRegistry registry, String reason) {
+        return Counter.builder("tc.inquiry.guard.rejected")
+                .description("Contact submissions turned away before reaching the ingest queue")
+                .tag("reason", reason)
+                .register(registry);
+    }
+
+    public Verdict check(Inquiry inquiry, String clientIp) {
+        if (clientIp != null && !ipBuckets.tryAcquire(clientIp)) {
+            ipLimited.increment();
+            return Verdict.RATE_LIMITED;
+        }
+        String email = normalizedEmail(inquiry);
+        if (!email.isEmpty() && !emailBuckets.tryAcquire(email)) {
+            emailLimited.increment();
+            return Verdict.RATE_LIMITED;
+        }
+        long[] hash = hash(inquiry);
+        if (recent.mightContain(hash[0], hash[1])) {
+            duplicates.increment();
+            return Verdict.DUPLICATE;
+        }
+        return Verdict.ACCEPT;
+    }
+
+    /**
+     * Remembers an accepted submission for the duplicate check. Called only once it is queued,
+     * so a submission turned away for a full queue is not treated as a duplicate when retried.
+     */
+    public void recordQueued(Inquiry inquiry) {
+        long[] hash = hash(inquiry);
+        recent.add(hash[0], hash[1]);
+    }
+
+    private static long[] hash(Inquiry inquiry) {
+        return MurmurHash.hash128(fingerprint(inquiry, normalizedEmail(inquiry)).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String normalizedEmail(Inquiry inquiry) {
+        return inquiry.getEmail() == null ? "" : inquiry.getEmail().trim().toLowerCase(Locale.ROOT);
+    }
+
+    // Case, spacing and punctuation differences do not make a submission new
+    private static String fingerprint(Inquiry inquiry, String email) {
+        StringBuilder sb = new StringBuilder();
+        appendLettersAndDigits(sb, inquiry.getName());
+        sb.append(SEPARATOR);
+        if (inquiry.getPhone() != null) {
+            inquiry.getPhone().chars().filter(Character::isDigit).forEach(sb::appendCodePoint);
+        }
+        sb.append(SEPARATOR).append(email).append(SEPARATOR);
+        appendLettersAndDigits(sb, inquiry.getContent());
+        return sb.toString();
+    }
+
+    private static void appendLettersAndDigits(StringBuilder sb, String text) {
+        if (text == null) {
+            return;
+        }
+        text.codePoints()
+                .filter(Character::isLetterOrDigit)
+                .map(Character::toLowerCase)
+                .forEach(sb::appendCodePoint);
+    }
+}
@@ -0,0 +1,146 @@
+package com.tc.backend.service;
+
+import com.tc.backend.entity.Inquiry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded buffer between the public contact form and the inquiry table.
+ * A single writer thread group-commits queued rows once a batch fills up or the flush window passes.
+ */
+@Slf4j
+@Component
+public class InquiryIngestQueue {
+
+    private final InquiryService inquiryService;
+    private final BlockingQueue<Inquiry> queue;
+    private final int batchSize;
+    private final long flushIntervalMillis;
+
+    private final Counter rejected;
+    private final DistributionSummary batchSizes;
+    private final Timer flushLatency;
+
+    private volatile boolean running = true;
+    private Thread writer;
+
+    public InquiryIngestQueue(InquiryService inquiryService,
+                              MeterRegistry meterRegistry,
+                              @Value("${tc.inquiry.ingest.capacity:10000}") int capacity,
+                              @Value("${tc.inquiry.ingest.batch-size:200}") int batchSize,
+                              @Value("${tc.inquiry.ingest.flush-interval-ms:200}") long flushIntervalMillis) {
+        this.inquiryService = inquiryService;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.flushIntervalMillis = flushIntervalMillis;
+
+        Gauge.builder("tc.inquiry.ingest.queue.depth", queue, BlockingQueue::size)
+                .description("Inquiries waiting to be written")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("tc.inquiry.ingest.rejected")
+                .description("Submissions refused because the queue was full")
+                .register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder("tc.inquiry.ingest.batch.size")
+                .description("Rows written per flush")
+                .register(meterRegistry);
+        this.flushLatency = Timer.builder("tc.inquiry.ingest.flush.latency")
+                .description("Time spent writing one batch")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        writer = new Thread(this::drainLoop, "inquiry-writer");
+        writer.start();
+    }
+
+    /**
+     * Queues the inquiry for writing; returns false when the queue is full or shutting down.
+     */
+    public boolean offer(Inquiry inquiry) {
+        if (running && queue.offer(inquiry)) {
+            return true;
+        }
+        rejected.increment();
+        return false;
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(30));
+        if (!queue.isEmpty()) {
+            log.warn("Inquiry writer stopped with {} rows still queued", queue.size());
+        }
+    }
+
+    private void drainLoop() {
+        List<Inquiry> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Inquiry first = queue.poll(flushIntervalMillis, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0 || !running) {
+                        break;
+                    }
+                    Inquiry next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next != null) {
+                        batch.add(next);
+                    }
+                }
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+                if (!batch.isEmpty()) {
+                    flush(batch);
+                }
+                return;
+            } catch (RuntimeException e) {
+                log.error("Inquiry writer failed", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<Inquiry> batch) {
+        batchSizes.record(batch.size());
+        flushLatency.record(() -> {
+            try {
+                inquiryService.insertBatch(batch);
+            } catch (RuntimeException e) {
+                // One bad row fails the whole statement; retry singly so the rest still land
+                log.warn("Batch insert of {} inquiries failed, retrying row by row", batch.size(), e);
+                for (Inquiry inquiry : batch) {
+                    try {
+                        inquiryService.save(inquiry);
+                    } catch (RuntimeException rowError) {
+                        log.error("Dropping inquiry from {} <{}>", inquiry.getName(), inquiry.getEmail(), rowError);
+                    }
+                }
+            }
+        });
+    }
+}
@@ -1,7 +1,21 @@
 package com.tc.backend.service;
 
+import com.baomidou.mybatisplus.core.conditions.Wrapper;
 import com.baomidou.mybatisplus.extension.service.IService;
 import com.tc.backend.entity.Inquiry;
 
+import java.util.List;
+import java.util.function.Consumer;
+
 public interface InquiryService extends IService<Inquiry> {
+
+    /**
+     * Inserts the rows with one multi-row INSERT, filling in their generated ids.
+     */
+    int insertBatch(List<Inquiry> inquiries);
+
+    /**
+     * Streams matching rows to the consumer without loading them into a list.
+     */
+    void stream(Wrapper<Inquiry> wrapper, Consumer<Inquiry> consumer);
 }
@@ -0,0 +1,367 @@
+package com.tc.backend.service;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.tc.backend.common.CursorPage;
+import com.tc.backend.common.SeekCursor;
+import com.tc.backend.common.SeekPager;
+import com.tc.backend.entity.Product;
+import com.tc.backend.entity.ProductSpec;
+import com.tc.backend.event.ProductChangedEvent;
+import com.tc.backend.event.ProductsImportedEvent;
+import com.tc.backend.mapper.ProductMapper;
+import com.tc.backend.mapper.ProductSpecMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory copy of the product table used to answer catalog listings without a query.
+ * Readers work on an immutable snapshot; writes swap in a new snapshot that differs by one row.
+ * Listed products carry no specs (the JSON column is never read for them); specs come from
+ * product_spec and are only used here for filtering and facet counts.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductCatalogIndex {
+
+    // Same order as ORDER BY create_time DESC, with id as a stable tie-breaker
+    private static final Comparator<Product> NEWEST_FIRST = Comparator
+            .comparing(Product::getCreateTime, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(Product::getId, Comparator.reverseOrder());
+
+    private final ProductMapper productMapper;
+    private final ProductSpecMapper productSpecMapper;
+
+    private volatile Snapshot snapshot;
+    // Bumped after every snapshot swap, so responses cached from an older snapshot stop matching
+    private final AtomicLong version = new AtomicLong(System.currentTimeMillis());
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        reload();
+    }
+
+    public synchronized void reload() {
+        List<Product> products = productMapper.selectList(new LambdaQueryWrapper<Product>()
+                .select(Product.class, f -> !"specs".equals(f.getProperty())));
+        Map<Long, Map<String, String>> specs = new HashMap<>();
+        for (ProductSpec row : productSpecMapper.selectList(null)) {
+            specs.computeIfAbsent(row.getProductId(), k -> new HashMap<>()).put(row.getSpecKey(), row.getSpecValue());
+        }
+        snapshot = Snapshot.of(products, specs);
+        version.incrementAndGet();
+        log.info("Product catalog index loaded, count: {}", products.size());
+    }
+
+    public long version() {
+        return version.get();
+    }
+
+    public Product get(Long id) {
+        return snapshot().byId.get(id);
+    }
+
+    public List<Product> all() {
+        return Collections.unmodifiableList(snapshot().ordered);
+    }
+
+    public Page<Product> page(long current, long size, String category, Boolean featured) {
+        return page(current, size, category, featured, Map.of());
+    }
+
+    /**
+     * @param specs spec key -> required value; a product must match all of them
+     */
+    public Page<Product> page(long current, long size, String category, Boolean featured, Map<String, String> specs) {
+        Snapshot s = snapshot();
+        return slice(withSpecs(s, candidates(s, category, featured), specs), current, size);
+    }
+
+    /**
+     * Counts per spec key and value among the products matching the filters. Each key is counted
+     * with every filter except its own, so the other values of an already filtered key still show
+     * how many products selecting them instead would give.
+     */
+    public Map<String, Map<String, Integer>> specFacets(String category, Boolean featured, Map<String, String> specs) {
+        Snapshot s = snapshot();
+        Map<String, Map<String, Integer>> counts = new TreeMap<>();
+        for (Product p : candidates(s, category, featured)) {
+            Map<String, String> own = s.specs.getOrDefault(p.getId(), Map.of());
+            String missed = null;
+            int misses = 0;
+            for (Map.Entry<String, String> filter : specs.entrySet()) {
+                if (!filter.getValue().equals(own.get(filter.getKey()))) {
+                    missed = filter.getKey();
+                    if (++misses > 1) {
+                        break;
+                    }
+                }
+            }
+            if (misses == 0) {
+                own.forEach((key, value) -> counts.computeIfAbsent(key, k -> new TreeMap<>()).merge(value, 1, Integer::sum));
+            } else if (misses == 1 && own.containsKey(missed)) {
+                counts.computeIfAbsent(missed, k -> new TreeMap<>()).merge(own.get(missed), 1, Integer::sum);
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Keyset variant of {@link #page}: starts right after {@code after} instead of at an offset.
+     */
+    public CursorPage<Product> seek(SeekCursor after, int size, String category, Boolean featured, boolean count) {
+        return seek(after, size, category, featured, Map.of(), count);
+    }
+
+    public CursorPage<Product> seek(SeekCursor after, int size, String category, Boolean featured,
+                                    Map<String, String> specs, boolean count) {
+        Snapshot s = snapshot();
+        List<Product> candidates = withSpecs(s, candidates(s, category, featured), specs);
+        int from = 0;
+        if (after != null) {
+            Product probe = new Product();
+            probe.setCreateTime(after.createTime());
+            probe.setId(after.id());
+            int pos = Collections.binarySearch(candidates, probe, NEWEST_FIRST);
+            from = pos >= 0 ? pos + 1 : -pos - 1;
+        }
+        int to = Math.min(from + Math.min(Math.max(size, 1), SeekPager.MAX_SIZE), candidates.size());
+
+        CursorPage<Product> page = new CursorPage<>();
+        page.setRecords(new ArrayList<>(candidates.subList(from, to)));
+        page.setHasMore(to < candidates.size());
+        if (page.isHasMore()) {
+            Product last = candidates.get(to - 1);
+            page.setNextCursor(new SeekCursor(last.getCreateTime(), last.getId()).encode());
+        }
+        if (count) {
+            page.setTotal((long) candidates.size());
+        }
+        return page;
+    }
+
+    /**
+     * Pages through an already ranked list of ids (e.g. search hits), keeping their order.
+     */
+    public Page<Product> page(long current, long size, String category, Boolean featured, List<Long> rankedIds) {
+        return page(current, size, category, featured, Map.of(), rankedIds);
+    }
+
+    public Page<Product> page(long current, long size, String category, Boolean featured,
+                              Map<String, String> specs, List<Long> rankedIds) {
+        Snapshot s = snapshot();
+        List<Product> candidates = rankedIds.stream()
+                .map(s.byId::get)
+                .filter(Objects::nonNull)
+                .filter(p -> !StringUtils.hasText(category) || category.equals(p.getCategory()))
+                .filter(p -> featured == null || featured.equals(p.getIsFeatured()))
+                .toList();
+        return slice(withSpecs(s, candidates, specs), current, size);
+    }
+
+    private static List<Product> candidates(Snapshot s, String category, Boolean featured) {
+        List<Product> candidates;
+        if (StringUtils.hasText(category)) {
+            candidates = s.byCategory.getOrDefault(category, Collections.emptyList());
+        } else if (Boolean.TRUE.equals(featured)) {
+            candidates = s.featured;
+        } else {
+            candidates = s.ordered;
+        }
+        if (featured != null && candidates != s.featured) {
+            candidates = candidates.stream()
+                    .filter(p -> featured.equals(p.getIsFeatured()))
+                    .toList();
+        }
+        return candidates;
+    }
+
+    private static List<Product> withSpecs(Snapshot s, List<Product> candidates, Map<String, String> specs) {
+        if (specs.isEmpty()) {
+            return candidates;
+        }
+        return candidates.stream()
+                .filter(p -> {
+                    Map<String, String> own = s.specs.getOrDefault(p.getId(), Map.of());
+                    return specs.entrySet().stream().allMatch(f -> f.getValue().equals(own.get(f.getKey())));
+                })
+                .toList();
+    }
+
+    private static Page<Product> slice(List<Product> candidates, long current, long size) {
+        Page<Product> page = new Page<>(current, size, candidates.size());
+        if (size < 0) {
+            page.setRecords(new ArrayList<>(candidates));
+            return page;
+        }
+        int from = (int) Math.min(page.offset(), candidates.size());
+        int to = (int) Math.min((long) from + size, candidates.size());
+        page.setRecords(new ArrayList<>(candidates.subList(from, to)));
+        return page;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onProductChanged(ProductChangedEvent event) {
+        if (snapshot == null) {
+            // Not loaded yet; the first read will pick up the committed row
+            return;
+        }
+        Product current = event.isDeleted() ? null : productMapper.selectById(event.getProductId());
+        if (current == null) {
+            snapshot = snapshot.without(event.getProductId());
+        } else {
+            // Same normalisation as the product_spec rows ProductService just wrote
+            Map<String, String> specs = ProductService.normalizeSpecs(current.getSpecs());
+            current.setSpecs(null);
+            snapshot = snapshot.with(current, specs);
+        }
+        version.incrementAndGet();
+    }
+
+    @EventListener
+    public void onProductsImported(ProductsImportedEvent event) {
+        reload();
+    }
+
+    private Snapshot snapshot() {
+        Snapshot s = snapshot;
+        if (s == null) {
+            synchronized (this) {
+                if (snapshot == null) {
+                    reload();
+                }
+                s = snapshot;
+            }
+        }
+        return s;
+    }
+
+    private static final class Snapshot {
+        private final Map<Long, Product> byId;
+        private final List<Product> ordered;
+        private final Map<String, List<Product>> byCategory;
+        private final List<Product> featured;
+        private final Map<Long, Map<String, String>> specs;
+
+        private Snapshot(Map<Long, Product> byId, List<Product> ordered,
+                         Map<String, List<Product>> byCategory, List<Product> featured,
+                         Map<Long, Map<String, String>> specs) {
+            this.byId = byId;
+            this.ordered = ordered;
+            this.byCategory = byCategory;
+            this.featured = featured;
+            this.specs = specs;
+        }
+
+        static Snapshot of(List<Product> products, Map<Long, Map<String, String>> specs) {
+            List<Product> ordered = new ArrayList<>(products);
+            ordered.sort(NEWEST_FIRST);
+
+            Map<Long, Product> byId = new HashMap<>();
+            Map<String, List<Product>> byCategory = new HashMap<>();
+            List<Product> featured = new ArrayList<>();
+            for (Product p : ordered) {
+                byId.put(p.getId(), p);
+                if (p.getCategory() != null) {
+                    byCategory.computeIfAbsent(p.getCategory(), k -> new ArrayList<>()).add(p);
+                }
+                if (Boolean.TRUE.equals(p.getIsFeatured())) {
+                    featured.add(p);
+                }
+            }
+            return new Snapshot(byId, ordered, byCategory, featured, specs);
+        }
+
+        Snapshot with(Product product, Map<String, String> productSpecs) {
+            Snapshot base = without(product.getId());
+
+            Map<Long, Product> byId = new HashMap<>(base.byId);
+            byId.put(product.getId(), product);
+
+            Map<String, List<Product>> byCategory = new HashMap<>(base.byCategory);
+            if (product.getCategory() != null) {
+                byCategory.put(product.getCategory(),
+                        insert(byCategory.getOrDefault(product.getCategory(), Collections.emptyList()), product));
+            }
+
+            List<Product> featured = Boolean.TRUE.equals(product.getIsFeatured())
+                    ? insert(base.featured, product)
+                    : base.featured;
+
+            Map<Long, Map<String, String>> specs = base.specs;
+            if (!productSpecs.isEmpty()) {
+                specs = new HashMap<>(base.specs);
+                specs.put(product.getId(), productSpecs);
+            }
+
+            return new Snapshot(byId, insert(base.ordered, product), byCategory, featured, specs);
+        }
+
+        Snapshot without(Long id) {
+            Product old = byId.get(id);
+            if (old == null) {
+                return this;
+            }
+            Map<Long, Product> newById = new HashMap<>(byId);
+            newById.remove(id);
+
+            Map<String, List<Product>> newByCategory = byCategory;
+            if (old.getCategory() != null) {
+                newByCategory = new HashMap<>(byCategory);
+                List<Product> remaining = remove(byCategory.get(old.getCategory()), old);
+                if (remaining.isEmpty()) {
+                    newByCategory.remove(old.getCategory());
+                } else {
+                    newByCategory.put(old.getCategory(), remaining);
+                }
+            }
+
+            List<Product> newFeatured = Boolean.TRUE.equals(old.getIsFeatured())
+                    ? remove(featured, old)
+                    : featured;
+
+            Map<Long, Map<String, String>> newSpecs = specs;
+            if (specs.containsKey(id)) {
+                newSpecs = new HashMap<>(specs);
+                newSpecs.remove(id);
+            }
+
+            return new Snapshot(newById, remove(ordered, old), newByCategory, newFeatured, newSpecs);
+        }
+
+        private static List<Product> insert(List<Product> list, Product product) {
+            int pos = Collections.binarySearch(list, product, NEWEST_FIRST);
+            List<Product> copy = new ArrayList<>(list.size() + 1);
+            copy.addAll(list);
+            copy.add(pos < 0 ? -pos - 1 : pos, product);
+            return copy;
+        }
+
+        private static List<Product> remove(List<Product> list, Product product) {
+            List<Product> copy = new ArrayList<>(list);
+            int pos = Collections.binarySearch(copy, product, NEWEST_FIRST);
+            if (pos >= 0 && Objects.equals(copy.get(pos).getId(), product.getId())) {
+                copy.remove(pos);
+            } else {
+                copy.removeIf(p -> Objects.equals(p.getId(), product.getId()));
+            }
+            return copy;
+        }
+    }
+}
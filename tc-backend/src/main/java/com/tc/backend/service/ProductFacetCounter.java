@@ -0,0 +1,166 @@
+package com.tc.backend.service;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.tc.backend.entity.Product;
+import com.tc.backend.event.ProductChangedEvent;
+import com.tc.backend.event.ProductsImportedEvent;
+import com.tc.backend.mapper.ProductMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+
+/**
+ * Product counts per category, status and featured flag for the product center sidebar.
+ * Each product's last seen facet values are kept, so a change event only moves that product from
+ * one bucket to another (and is safe to apply twice). A periodic rebuild from the table corrects
+ * anything written around the service, e.g. by hand in the database.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductFacetCounter {
+
+    public static final String CATEGORY = "category";
+    public static final String STATUS = "status";
+    public static final String FEATURED = "isFeatured";
+
+    private static final String NONE = "";
+
+    private final ProductMapper productMapper;
+
+    private final Map<Long, Facets> byProduct = new HashMap<>();
+    private final Map<String, Map<String, Long>> counts = new HashMap<>();
+
+    // Rebuilt after every change; readers never see a half-applied update
+    private volatile Map<String, Map<String, Long>> view;
+    private final AtomicLong version = new AtomicLong(System.currentTimeMillis());
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        rebuild();
+    }
+
+    @Scheduled(initialDelayString = "${tc.facets.rebuild-ms:600000}", fixedDelayString = "${tc.facets.rebuild-ms:600000}")
+    public void scheduledRebuild() {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            log.warn("Product facet rebuild failed, keeping the current counts", e);
+        }
+    }
+
+    /**
+     * Changes whenever the counts are republished.
+     */
+    public long version() {
+        return version.get();
+    }
+
+    /**
+     * facet -> value -> number of products. Products without a category or status are left out.
+     */
+    public Map<String, Map<String, Long>> counts() {
+        Map<String, Map<String, Long>> v = view;
+        if (v == null) {
+            synchronized (this) {
+                if (view == null) {
+                    rebuild();
+                }
+                v = view;
+            }
+        }
+        return v;
+    }
+
+    // Reads the table under the lock, so change events queue behind it and land on the new counts
+    public synchronized void rebuild() {
+        List<Product> products = productMapper.selectList(new LambdaQueryWrapper<Product>()
+                .select(Product::getId, Product::getCategory, Product::getStatus, Product::getIsFeatured));
+        byProduct.clear();
+        counts.clear();
+        for (Product p : products) {
+            move(p.getId(), Facets.of(p));
+        }
+        publish();
+        log.debug("Product facets rebuilt from {} products", products.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onProductChanged(ProductChangedEvent event) {
+        if (view == null) {
+            return;
+        }
+        Product current = event.isDeleted() ? null : productMapper.selectOne(new LambdaQueryWrapper<Product>()
+                .select(Product::getId, Product::getCategory, Product::getStatus, Product::getIsFeatured)
+                .eq(Product::getId, event.getProductId()));
+        move(event.getProductId(), current == null ? null : Facets.of(current));
+        publish();
+    }
+
+    @EventListener
+    public void onProductsImported(ProductsImportedEvent event) {
+        rebuild();
+    }
+
+    private void move(Long id, Facets next) {
+        Facets previous = next == null ? byProduct.remove(id) : byProduct.put(id, next);
+        if (Objects.equals(previous, next)) {
+            return;
+        }
+        if (previous != null) {
+            previous.forEach((facet, value) -> add(facet, value, -1));
+        }
+        if (next != null) {
+            next.forEach((facet, value) -> add(facet, value, 1));
+        }
+    }
+
+    private void add(String facet, String value, long delta) {
+        if (NONE.equals(value)) {
+            return;
+        }
+        Map<String, Long> values = counts.computeIfAbsent(facet, k -> new HashMap<>());
+        long n = values.getOrDefault(value, 0L) + delta;
+        if (n > 0) {
+            values.put(value, n);
+        } else {
+            values.remove(value);
+        }
+    }
+
+    private void publish() {
+        Map<String, Map<String, Long>> copy = new LinkedHashMap<>();
+        for (String facet : List.of(CATEGORY, STATUS, FEATURED)) {
+            copy.put(facet, Collections.unmodifiableMap(new TreeMap<>(counts.getOrDefault(facet, Map.of()))));
+        }
+        view = Collections.unmodifiableMap(copy);
+        version.incrementAndGet();
+    }
+
+    private record Facets(String category, String status, String featured) {
+        static Facets of(Product p) {
+            return new Facets(Objects.toString(p.getCategory(), NONE), Objects.toString(p.getStatus(), NONE),
+                    String.valueOf(Boolean.TRUE.equals(p.getIsFeatured())));
+        }
+
+        void forEach(BiConsumer<String, String> action) {
+            action.accept(CATEGORY, category);
+            action.accept(STATUS, status);
+            action.accept(FEATURED, featured);
+        }
+    }
+}
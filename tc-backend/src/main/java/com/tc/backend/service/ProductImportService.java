@@ -0,0 +1,383 @@
+package com.tc.backend.service;
+
+import cn.hutool.core.text.csv.CsvReadConfig;
+import cn.hutool.core.text.csv.CsvReader;
+import cn.hutool.core.text.csv.CsvRow;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tc.backend.common.ProductImportReport;
+import com.tc.backend.entity.Product;
+import com.tc.backend.event.ProductsImportedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Bulk product import keyed on sku. The body is read as a stream and handled a chunk at a time:
+ * rows are parsed and validated in parallel on the fan-out pool, then written with one batched
+ * upsert per chunk. Bad rows are reported by line and do not stop the rest of the import.
+ */
+@Slf4j
+@Service
+public class ProductImportService {
+
+    public static final String CSV = "csv";
+    public static final String NDJSON = "ndjson";
+
+    private static final String SPEC_COLUMN_PREFIX = "spec.";
+    private static final String DEFAULT_STATUS = "In Stock";
+    private static final BigDecimal MAX_PRICE = new BigDecimal("99999999.99");
+    // Below this many rows per slice the hand-off to the pool costs more than it saves
+    private static final int MIN_SLICE = 100;
+
+    private static final TypeReference<Map<String, String>> SPECS_TYPE = new TypeReference<>() {
+    };
+
+    private final ProductService productService;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Executor fanOutExecutor;
+    private final int batchSize;
+    private final int parallelism;
+    private final int maxErrors;
+
+    public ProductImportService(ProductService productService,
+                                ObjectMapper objectMapper,
+                                ApplicationEventPublisher eventPublisher,
+                                @Qualifier("fanOutExecutor") Executor fanOutExecutor,
+                                @Value("${tc.product-import.batch-size:1000}") int batchSize,
+                                @Value("${tc.product-import.parallelism:4}") int parallelism,
+                                @Value("${tc.product-import.max-errors:1000}") int maxErrors) {
+        this.productService = productService;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.fanOutExecutor = fanOutExecutor;
+        this.batchSize = batchSize;
+        this.parallelism = parallelism;
+        this.maxErrors = maxErrors;
+    }
+
+    /**
+     * @param format {@link #CSV} (header row; specs as a JSON {@code specs} column and/or
+     *               {@code spec.<key>} columns) or {@link #NDJSON} (one product object per line)
+     */
+    public ProductImportReport importProducts(String format, InputStream body) throws IOException {
+        long start = System.currentTimeMillis();
+        Run run = new Run();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        // Spreadsheet exports often start with a BOM
+        reader.mark(1);
+        if (reader.read() != '\uFEFF') {
+            reader.reset();
+        }
+        try {
+            if (NDJSON.equals(format)) {
+                readNdjson(reader, run);
+            } else {
+                readCsv(reader, run);
+            }
+            run.flush();
+        } finally {
+            int written = run.report.getInserted() + run.report.getUpdated();
+            if (written > 0) {
+                eventPublisher.publishEvent(new ProductsImportedEvent(written));
+            }
+            run.report.setTookMs(System.currentTimeMillis() - start);
+            log.info("Product import: {} rows, {} inserted, {} updated, {} failed in {} ms",
+                    run.report.getReceived(), run.report.getInserted(), run.report.getUpdated(),
+                    run.report.getFailed(), run.report.getTookMs());
+        }
+        return run.report;
+    }
+
+    private void readNdjson(BufferedReader reader, Run run) throws IOException {
+        String line;
+        long lineNo = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNo++;
+            if (!line.isBlank()) {
+                run.add(new RawRow(lineNo, line, null));
+            }
+        }
+    }
+
+    private void readCsv(BufferedReader reader, Run run) {
+        CsvReadConfig config = CsvReadConfig.defaultConfig();
+        config.setContainsHeader(true);
+        config.setSkipEmptyRows(true);
+        for (CsvRow row : new CsvReader(reader, config)) {
+            run.add(new RawRow(row.getOriginalLineNumber() + 1, null, row.getFieldMap()));
+        }
+    }
+
+    private List<Parsed> parseAll(List<RawRow> rows) {
+        int slices = Math.min(parallelism, rows.size() / MIN_SLICE);
+        if (slices <= 1) {
+            return rows.stream().map(this::parse).toList();
+        }
+        int perSlice = (rows.size() + slices - 1) / slices;
+        List<CompletableFuture<List<Parsed>>> futures = new ArrayList<>();
+        for (int from = 0; from < rows.size(); from += perSlice) {
+            List<RawRow> slice = rows.subList(from, Math.min(from + perSlice, rows.size()));
+            futures.add(CompletableFuture.supplyAsync(() -> slice.stream().map(this::parse).toList(), fanOutExecutor));
+        }
+        List<Parsed> parsed = new ArrayList<>(rows.size());
+        futures.forEach(f -> parsed.addAll(f.join()));
+        return parsed;
+    }
+
+    private Parsed parse(RawRow row) {
+        Product product = null;
+        try {
+            product = row.json() != null ? fromJson(row.json()) : fromColumns(row.columns());
+            validate(product);
+            return new Parsed(row.line(), product, null);
+        } catch (IllegalArgumentException e) {
+            return new Parsed(row.line(), product, e.getMessage());
+        }
+    }
+
+    private Product fromJson(String json) {
+        try {
+            Product product = objectMapper.readValue(json, Product.class);
+            // Rows are matched on sku, never on id
+            product.setId(null);
+            product.setCreateTime(null);
+            product.setUpdateTime(null);
+            return product;
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    private Product fromColumns(Map<String, String> columns) {
+        Product product = new Product();
+        Map<String, String> specs = new LinkedHashMap<>();
+        columns.forEach((column, raw) -> {
+            String key = column.trim();
+            String value = StringUtils.hasText(raw) ? raw.trim() : null;
+            if (key.startsWith(SPEC_COLUMN_PREFIX)) {
+                if (value != null) {
+                    specs.put(key.substring(SPEC_COLUMN_PREFIX.length()), value);
+                }
+                return;
+            }
+            switch (key) {
+                case "name" -> product.setName(value);
+                case "sku" -> product.setSku(value);
+                case "category" -> product.setCategory(value);
+                case "price" -> product.setPrice(value == null ? null : parsePrice(value));
+                case "status" -> product.setStatus(value);
+                case "image" -> product.setImage(value);
+                case "description" -> product.setDescription(value);
+                case "is_featured", "isFeatured" -> product.setIsFeatured(value == null ? null : parseBoolean(value));
+                case "specs" -> {
+                    if (value != null) {
+                        specs.putAll(parseSpecs(value));
+                    }
+                }
+                default -> {
+                    // Unknown columns are ignored so exports with extra columns import as-is
+                }
+            }
+        });
+        // A row without any spec value keeps the stored specs
+        if (!specs.isEmpty()) {
+            product.setSpecs(specs);
+        }
+        return product;
+    }
+
+    private static void validate(Product product) {
+        product.setSku(trimToNull(product.getSku()));
+        product.setName(trimToNull(product.getName()));
+        product.setCategory(trimToNull(product.getCategory()));
+        product.setStatus(trimToNull(product.getStatus()));
+        product.setImage(trimToNull(product.getImage()));
+
+        if (product.getSku() == null) {
+            throw new IllegalArgumentException("sku is required");
+        }
+        checkLength("sku", product.getSku(), 50);
+        checkLength("name", product.getName(), 100);
+        checkLength("category", product.getCategory(), 50);
+        checkLength("status", product.getStatus(), 20);
+        checkLength("image", product.getImage(), 255);
+        if (product.getImage() != null && !product.getImage().startsWith("http://")
+                && !product.getImage().startsWith("https://") && !product.getImage().startsWith("/")) {
+            throw new IllegalArgumentException("image must be an http(s) URL or a site path");
+        }
+        BigDecimal price = product.getPrice();
+        if (price != null) {
+            if (price.signum() < 0 || price.compareTo(MAX_PRICE) > 0) {
+                throw new IllegalArgumentException("price out of range: " + price.toPlainString());
+            }
+            if (price.stripTrailingZeros().scale() > 2) {
+                throw new IllegalArgumentException("price has more than 2 decimals: " + price.toPlainString());
+            }
+        }
+        if (product.getSpecs() != null) {
+            product.setSpecs(ProductService.normalizeSpecs(product.getSpecs()));
+        }
+    }
+
+    private Map<String, String> parseSpecs(String json) {
+        try {
+            return objectMapper.readValue(json, SPECS_TYPE);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("specs must be a JSON object of strings");
+        }
+    }
+
+    private static BigDecimal parsePrice(String value) {
+        try {
+            return new BigDecimal(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid price: " + value);
+        }
+    }
+
+    private static Boolean parseBoolean(String value) {
+        return switch (value.toLowerCase()) {
+            case "true", "1", "yes", "y" -> true;
+            case "false", "0", "no", "n" -> false;
+            default -> throw new IllegalArgumentException("Invalid is_featured: " + value);
+        };
+    }
+
+    private static void checkLength(String field, String value, int max) {
+        if (value != null && value.length() > max) {
+            throw new IllegalArgumentException(field + " is longer than " + max + " characters");
+        }
+    }
+
+    private static String trimToNull(String s) {
+        return StringUtils.hasText(s) ? s.trim() : null;
+    }
+
+    private record RawRow(long line, String json, Map<String, String> columns) {
+    }
+
+    private record Parsed(long line, Product product, String error) {
+    }
+
+    /** State of one import: the pending chunk, the skus seen so far and the report. */
+    private final class Run {
+        private final ProductImportReport report = new ProductImportReport();
+        // sku -> line it was first imported from; a later row with the same sku is rejected
+        private final Map<String, Long> seen = new HashMap<>();
+        private final List<RawRow> chunk = new ArrayList<>();
+
+        void add(RawRow row) {
+            report.setReceived(report.getReceived() + 1);
+            chunk.add(row);
+            if (chunk.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        void flush() {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            List<Parsed> valid = new ArrayList<>();
+            for (Parsed row : parseAll(chunk)) {
+                if (row.error() != null) {
+                    fail(row, row.error());
+                    continue;
+                }
+                Long first = seen.putIfAbsent(row.product().getSku(), row.line());
+                if (first != null) {
+                    fail(row, "Duplicate sku, already imported from line " + first);
+                    continue;
+                }
+                valid.add(row);
+            }
+            chunk.clear();
+
+            Map<String, Product> existing = productService.findBySkus(valid.stream().map(r -> r.product().getSku()).toList());
+            List<Parsed> writable = new ArrayList<>(valid.size());
+            for (Parsed row : valid) {
+                Product product = row.product();
+                Product stored = existing.get(product.getSku());
+                if (stored != null) {
+                    // name is NOT NULL, and the database rejects a NULL there before it looks for the duplicate
+                    if (product.getName() == null) {
+                        product.setName(stored.getName());
+                    }
+                } else {
+                    if (product.getName() == null) {
+                        fail(row, "name is required for a new sku");
+                        continue;
+                    }
+                    if (product.getStatus() == null) {
+                        product.setStatus(DEFAULT_STATUS);
+                    }
+                    if (product.getIsFeatured() == null) {
+                        product.setIsFeatured(false);
+                    }
+                }
+                writable.add(row);
+            }
+            write(writable, existing);
+        }
+
+        private void write(List<Parsed> rows, Map<String, Product> existing) {
+            if (rows.isEmpty()) {
+                return;
+            }
+            try {
+                productService.upsertBySku(rows.stream().map(Parsed::product).toList());
+                rows.forEach(row -> count(row, existing));
+            } catch (RuntimeException e) {
+                // The chunk is rolled back as a whole; retry singly so only the offending rows fail
+                log.warn("Batch upsert of {} products failed, retrying row by row", rows.size(), e);
+                for (Parsed row : rows) {
+                    try {
+                        productService.upsertBySku(List.of(row.product()));
+                        count(row, existing);
+                    } catch (RuntimeException rowError) {
+                        fail(row, NestedExceptionUtils.getMostSpecificCause(rowError).getMessage());
+                    }
+                }
+            }
+        }
+
+        private void count(Parsed row, Map<String, Product> existing) {
+            if (existing.containsKey(row.product().getSku())) {
+                report.setUpdated(report.getUpdated() + 1);
+            } else {
+                report.setInserted(report.getInserted() + 1);
+            }
+        }
+
+        private void fail(Parsed row, String message) {
+            report.setFailed(report.getFailed() + 1);
+            if (report.getErrors().size() < maxErrors) {
+                String sku = row.product() == null ? null : row.product().getSku();
+                report.getErrors().add(new ProductImportReport.RowError(row.line(), sku, message));
+            } else {
+                report.setErrorsTruncated(true);
+            }
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.tc.backend.service;
+
+import java.util.List;
+
+/**
+ * Full-text lookup over products. The engine is picked with {@code tc.search.engine}.
+ */
+public interface ProductSearchService {
+
+    /**
+     * Returns matching product ids, best match first.
+     */
+    List<Long> search(String query);
+
+    /**
+     * Returns up to {@code limit} product names for a partially typed query.
+     */
+    List<String> suggest(String prefix, int limit);
+}
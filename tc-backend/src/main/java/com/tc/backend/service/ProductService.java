@@ -1,10 +1,206 @@
 package com.tc.backend.service;
 
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.tc.backend.config.QueryPlanInterceptor;
 import com.tc.backend.entity.Product;
+import com.tc.backend.entity.ProductSpec;
+import com.tc.backend.event.ProductChangedEvent;
 import com.tc.backend.mapper.ProductMapper;
+import com.tc.backend.mapper.ProductSpecMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
 @Service
+@RequiredArgsConstructor
 public class ProductService extends ServiceImpl<ProductMapper, Product> {
+
+    private static final int MAX_SPEC_KEY = 100;
+    private static final int MAX_SPEC_VALUE = 255;
+    // Rows per product_spec INSERT, keeping the statement well under the placeholder limit
+    private static final int SPEC_INSERT_CHUNK = 1000;
+
+    private final ApplicationEventPublisher eventPublisher;
+    private final ProductSpecMapper productSpecMapper;
+    private final SingleFlight singleFlight;
+
+    /**
+     * Concurrent requests for the same product share one query; the returned product is shared too.
+     */
+    @Override
+    public Product getById(Serializable id) {
+        return singleFlight.load("product", id, () -> super.getById(id));
+    }
+
+    // saveOrUpdate routes through save/updateById, so these cover every single-row write
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public boolean save(Product entity) {
+        // uk_product_sku allows any number of NULLs but only one empty string
+        entity.setSku(blankToNull(entity.getSku()));
+        boolean saved = super.save(entity);
+        if (saved) {
+            replaceSpecs(entity.getId(), entity.getSpecs());
+            eventPublisher.publishEvent(new ProductChangedEvent(entity.getId(), false));
+        }
+        return saved;
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public boolean updateById(Product entity) {
+        boolean clearSku = entity.getSku() != null && !StringUtils.hasText(entity.getSku());
+        entity.setSku(blankToNull(entity.getSku()));
+        // Null fields are left out of the UPDATE, so a cleared sku is set explicitly
+        boolean updated = clearSku
+                ? super.update(entity, new LambdaUpdateWrapper<Product>()
+                        .set(Product::getSku, null)
+                        .eq(Product::getId, entity.getId()))
+                : super.updateById(entity);
+        if (updated) {
+            // Null specs are left out of the UPDATE, so the stored ones (and their rows) stay
+            if (entity.getSpecs() != null) {
+                replaceSpecs(entity.getId(), entity.getSpecs());
+            }
+            eventPublisher.publishEvent(new ProductChangedEvent(entity.getId(), false));
+        }
+        return updated;
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public boolean removeById(Serializable id) {
+        boolean removed = super.removeById(id);
+        if (removed) {
+            long productId = ((Number) id).longValue();
+            productSpecMapper.delete(new LambdaQueryWrapper<ProductSpec>().eq(ProductSpec::getProductId, productId));
+            eventPublisher.publishEvent(new ProductChangedEvent(productId, true));
+        }
+        return removed;
+    }
+
+    /**
+     * Upserts the products by sku as one JDBC batch, then replaces the product_spec rows of those
+     * that carry specs. Publishes no ProductChangedEvent; the importer sends a single
+     * ProductsImportedEvent when it is done.
+     *
+     * @return sku -> id for every product written
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public Map<String, Long> upsertBySku(List<Product> products) {
+        executeBatch(products, products.size(), (session, product) -> session.getMapper(ProductMapper.class).upsert(product));
+        Map<String, Long> ids = new HashMap<>();
+        findBySkus(products.stream().map(Product::getSku).toList()).forEach((sku, p) -> ids.put(sku, p.getId()));
+
+        List<Long> specOwners = new ArrayList<>();
+        List<ProductSpec> rows = new ArrayList<>();
+        for (Product product : products) {
+            if (product.getSpecs() != null) {
+                Long id = ids.get(product.getSku());
+                specOwners.add(id);
+                rows.addAll(toRows(id, product.getSpecs()));
+            }
+        }
+        if (!specOwners.isEmpty()) {
+            productSpecMapper.delete(new LambdaQueryWrapper<ProductSpec>().in(ProductSpec::getProductId, specOwners));
+            for (int from = 0; from < rows.size(); from += SPEC_INSERT_CHUNK) {
+                productSpecMapper.insertBatch(rows.subList(from, Math.min(from + SPEC_INSERT_CHUNK, rows.size())));
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * @return sku -> product with only id, sku and name loaded
+     */
+    public Map<String, Product> findBySkus(Collection<String> skus) {
+        Map<String, Product> found = new HashMap<>();
+        if (!skus.isEmpty()) {
+            for (Product product : list(new LambdaQueryWrapper<Product>()
+                    .select(Product::getId, Product::getSku, Product::getName)
+                    .in(Product::getSku, skus))) {
+                found.put(product.getSku(), product);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Fills product_spec for products whose specs were written before the table existed.
+     * Runs ahead of the catalog index warm-up, which reads the table.
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillSpecs() {
+        List<Product> missing = list(new LambdaQueryWrapper<Product>()
+                .select(Product::getId, Product::getSpecs)
+                .isNotNull(Product::getSpecs)
+                .notExists("SELECT 1 FROM product_spec s WHERE s.product_id = product.id")
+                .comment(QueryPlanInterceptor.FULL_SCAN));
+        int filled = 0;
+        for (Product product : missing) {
+            if (product.getSpecs() != null && !product.getSpecs().isEmpty()) {
+                replaceSpecs(product.getId(), product.getSpecs());
+                filled++;
+            }
+        }
+        if (filled > 0) {
+            log.info("Backfilled product_spec for {} products", filled);
+        }
+    }
+
+    private void replaceSpecs(Long productId, Map<String, String> specs) {
+        productSpecMapper.delete(new LambdaQueryWrapper<ProductSpec>().eq(ProductSpec::getProductId, productId));
+        List<ProductSpec> rows = toRows(productId, specs);
+        if (!rows.isEmpty()) {
+            productSpecMapper.insertBatch(rows);
+        }
+    }
+
+    private static List<ProductSpec> toRows(Long productId, Map<String, String> specs) {
+        List<ProductSpec> rows = new ArrayList<>();
+        normalizeSpecs(specs).forEach((key, value) -> rows.add(new ProductSpec(productId, key, value)));
+        return rows;
+    }
+
+    /**
+     * Specs as they are stored in product_spec: trimmed, blanks dropped, cut to the column sizes.
+     */
+    static Map<String, String> normalizeSpecs(Map<String, String> specs) {
+        Map<String, String> normalized = new LinkedHashMap<>();
+        if (specs != null) {
+            specs.forEach((key, value) -> {
+                if (StringUtils.hasText(key) && StringUtils.hasText(value)) {
+                    normalized.put(truncate(key.trim(), MAX_SPEC_KEY), truncate(value.trim(), MAX_SPEC_VALUE));
+                }
+            });
+        }
+        return normalized;
+    }
+
+    private static String truncate(String s, int max) {
+        return s.length() > max ? s.substring(0, max) : s;
+    }
+
+    private static String blankToNull(String s) {
+        return StringUtils.hasText(s) ? s.trim() : null;
+    }
 }
@@ -0,0 +1,78 @@
+package com.tc.backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tc.backend.common.Result;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Serialized Result bodies of read-mostly endpoints, keyed by endpoint and parameters and tagged
+ * with the version of the data they were built from. A body is serialized once per version and
+ * carries its own gzip encoding, so an unchanged listing is neither re-serialized nor
+ * re-compressed. Least recently used keys are dropped beyond tc.compression.cache-entries, and
+ * bodies over tc.compression.max-cached-bytes are served without being kept.
+ */
+@Component
+public class ResponseBodyCache {
+
+    private final ObjectMapper objectMapper;
+    private final int maxEntries;
+    private final int maxCachedBytes;
+
+    private final Map<String, Entry> entries;
+
+    public ResponseBodyCache(ObjectMapper objectMapper,
+                             @Value("${tc.compression.cache-entries:1024}") int maxEntries,
+                             @Value("${tc.compression.max-cached-bytes:1048576}") int maxCachedBytes) {
+        this.objectMapper = objectMapper;
+        this.maxEntries = maxEntries;
+        this.maxCachedBytes = maxCachedBytes;
+        this.entries = new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > ResponseBodyCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * The body for the key at the given version, built from {@code loader} if it is not cached yet.
+     * Pass the version read before loading, so data loaded during a change is never stored as newer.
+     */
+    public ResponseCompressor.Payload get(String key, long version, Supplier<?> loader) {
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.version() == version) {
+                return entry.payload();
+            }
+        }
+        ResponseCompressor.Payload payload;
+        try {
+            payload = new ResponseCompressor.Payload(objectMapper.writeValueAsBytes(Result.success(loader.get())));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize response " + key, e);
+        }
+        if (payload.identity().length > maxCachedBytes) {
+            return payload;
+        }
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            // A concurrent load got there first: share its body and any compression already started
+            if (entry != null && entry.version() == version) {
+                return entry.payload();
+            }
+            if (entry == null || entry.version() < version) {
+                entries.put(key, new Entry(version, payload));
+            }
+        }
+        return payload;
+    }
+
+    private record Entry(long version, ResponseCompressor.Payload payload) {
+    }
+}
@@ -0,0 +1,208 @@
+package com.tc.backend.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Gzip encodings of response bodies that are served many times unchanged. Each {@link Payload} is
+ * compressed at most once, when a client first asks for gzip, on a small bounded pool; the request
+ * waits up to tc.compression.wait-ms for it and otherwise gets the identity bytes. Bodies whose
+ * type is already compressed (images, archives, PDFs) are never passed through gzip.
+ */
+@Slf4j
+@Component
+public class ResponseCompressor {
+
+    private static final String GZIP = "gzip";
+
+    private final int minBytes;
+    private final long waitNanos;
+    private final ThreadPoolExecutor pool;
+    private final Counter compressed;
+    private final Counter incompressible;
+    private final Counter rejected;
+
+    public ResponseCompressor(MeterRegistry meterRegistry,
+                              @Value("${tc.compression.min-bytes:1024}") int minBytes,
+                              @Value("${tc.compression.threads:2}") int threads,
+                              @Value("${tc.compression.queue:64}") int queueSize,
+                              @Value("${tc.compression.wait-ms:50}") long waitMillis) {
+        this.minBytes = minBytes;
+        this.waitNanos = TimeUnit.MILLISECONDS.toNanos(waitMillis);
+        AtomicInteger seq = new AtomicInteger();
+        this.pool = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueSize),
+                r -> {
+                    Thread t = new Thread(r, "gzip-" + seq.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                // Saturated: the body goes out uncompressed and a later request tries again
+                new ThreadPoolExecutor.AbortPolicy());
+        this.compressed = outcome(meterRegistry, "compressed");
+        this.incompressible = outcome(meterRegistry, "incompressible");
+        this.rejected = outcome(meterRegistry, "rejected");
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * 200 with the payload as JSON, gzip-encoded when the client accepts it and the encoding is ready.
+     */
+    public ResponseEntity<byte[]> json(ResponseEntity.BodyBuilder builder, Payload payload, String acceptEncoding) {
+        builder.contentType(MediaType.APPLICATION_JSON).varyBy(HttpHeaders.ACCEPT_ENCODING);
+        byte[] gzip = acceptsGzip(acceptEncoding) ? gzip(payload) : null;
+        if (gzip != null) {
+            return builder.header(HttpHeaders.CONTENT_ENCODING, GZIP).body(gzip);
+        }
+        return builder.body(payload.identity());
+    }
+
+    /**
+     * The gzip bytes of the payload, or null when it is too small, does not shrink, or is not
+     * ready within the wait.
+     */
+    public byte[] gzip(Payload payload) {
+        if (payload.identity.length < minBytes) {
+            return null;
+        }
+        CompletableFuture<byte[]> future = payload.gzip;
+        if (future == null) {
+            synchronized (payload) {
+                future = payload.gzip;
+                if (future == null) {
+                    try {
+                        future = CompletableFuture.supplyAsync(() -> compress(payload.identity), pool);
+                    } catch (RejectedExecutionException e) {
+                        rejected.increment();
+                        return null;
+                    }
+                    payload.gzip = future;
+                }
+            }
+        }
+        try {
+            return future.get(waitNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            log.warn("Response compression failed", e.getCause());
+            return null;
+        }
+    }
+
+    private byte[] compress(byte[] identity) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(identity.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out, 8192)) {
+            gzip.write(identity);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (out.size() >= identity.length) {
+            incompressible.increment();
+            return null;
+        }
+        compressed.increment();
+        return out.toByteArray();
+    }
+
+    /**
+     * Whether Accept-Encoding allows gzip: listed (or covered by *) without q=0.
+     */
+    public static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Boolean wildcard = null;
+        for (String part : acceptEncoding.split(",")) {
+            String[] params = part.split(";");
+            String coding = params[0].trim().toLowerCase(Locale.ROOT);
+            boolean allowed = true;
+            for (int i = 1; i < params.length; i++) {
+                String param = params[i].trim();
+                if (param.startsWith("q=")) {
+                    try {
+                        allowed = Double.parseDouble(param.substring(2)) > 0;
+                    } catch (NumberFormatException e) {
+                        allowed = false;
+                    }
+                }
+            }
+            if (GZIP.equals(coding) || "x-gzip".equals(coding)) {
+                return allowed;
+            }
+            if ("*".equals(coding)) {
+                wildcard = allowed;
+            }
+        }
+        return Boolean.TRUE.equals(wildcard);
+    }
+
+    /**
+     * Text-like types worth compressing; images, archives, PDFs and the like already are.
+     */
+    public static boolean compressible(String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        String type = contentType.toLowerCase(Locale.ROOT);
+        int semicolon = type.indexOf(';');
+        if (semicolon >= 0) {
+            type = type.substring(0, semicolon).trim();
+        }
+        return type.startsWith("text/")
+                || type.endsWith("+json") || type.endsWith("+xml")
+                || type.equals("application/json") || type.equals("application/xml")
+                || type.equals("application/javascript") || type.equals("image/bmp");
+    }
+
+    private static Counter outcome(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("tc.compression.bodies")
+                .description("Response bodies handed to the gzip pool, by result")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Bytes served as-is plus their gzip encoding, produced once on first demand.
+     */
+    public static final class Payload {
+        private final byte[] identity;
+        private volatile CompletableFuture<byte[]> gzip;
+
+        public Payload(byte[] identity) {
+            this.identity = identity;
+        }
+
+        public byte[] identity() {
+            return identity;
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.tc.backend.service;
+
+import com.tc.backend.config.ReplicaRoutingDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent identical reads: the first caller for a key runs the load and every caller
+ * arriving while it is in flight waits for that result instead of querying again. Nothing is kept
+ * once the load finishes. A caller may get the result of a query that started just before a write
+ * committed, so a load feeding a versioned cache must carry the version it was asked for in its
+ * key. Callers share the returned object and must not modify it.
+ * <p>
+ * A follower waits at most the call's timeout and then loads on its own. Calls inside a
+ * transaction, or from a client that has just written, always load on their own so they see their
+ * writes. Outcomes are counted in tc.singleflight.calls by name.
+ */
+@Component
+public class SingleFlight {
+
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final long defaultTimeoutMillis;
+
+    private final Map<Key, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, Counter[]> counters = new ConcurrentHashMap<>();
+
+    public SingleFlight(MeterRegistry meterRegistry,
+                        @Value("${tc.single-flight.enabled:true}") boolean enabled,
+                        @Value("${tc.single-flight.timeout-ms:2000}") long defaultTimeoutMillis) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.defaultTimeoutMillis = defaultTimeoutMillis;
+    }
+
+    public <V> V load(String name, Object key, Supplier<V> loader) {
+        return load(name, key, defaultTimeoutMillis, loader);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <V> V load(String name, Object key, long timeoutMillis, Supplier<V> loader) {
+        if (!enabled || TransactionSynchronizationManager.isActualTransactionActive()
+                || ReplicaRoutingDataSource.lastWrite() != 0) {
+            count(name, Outcome.BYPASSED);
+            return loader.get();
+        }
+        Key k = new Key(name, key);
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> running = inFlight.putIfAbsent(k, mine);
+        if (running == null) {
+            count(name, Outcome.LOADED);
+            try {
+                V value = loader.get();
+                mine.complete(value);
+                return value;
+            } catch (RuntimeException | Error e) {
+                mine.completeExceptionally(e);
+                throw e;
+            } finally {
+                inFlight.remove(k, mine);
+            }
+        }
+
+        try {
+            V value = (V) running.get(timeoutMillis, TimeUnit.MILLISECONDS);
+            count(name, Outcome.COLLAPSED);
+            return value;
+        } catch (TimeoutException e) {
+            count(name, Outcome.TIMEOUT);
+            return loader.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for " + name + " " + key, e);
+        } catch (ExecutionException e) {
+            // The leader's failure is every follower's failure; they asked for the same thing
+            count(name, Outcome.COLLAPSED);
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private void count(String name, Outcome outcome) {
+        counters.computeIfAbsent(name, this::register)[outcome.ordinal()].increment();
+    }
+
+    private Counter[] register(String name) {
+        Outcome[] outcomes = Outcome.values();
+        Counter[] byOutcome = new Counter[outcomes.length];
+        for (Outcome outcome : outcomes) {
+            byOutcome[outcome.ordinal()] = Counter.builder("tc.singleflight.calls")
+                    .description("Coalesced reads by whether the call loaded, shared a load in flight, timed out waiting or bypassed")
+                    .tag("name", name)
+                    .tag("outcome", outcome.tag)
+                    .register(meterRegistry);
+        }
+        return byOutcome;
+    }
+
+    private enum Outcome {
+        LOADED("loaded"), COLLAPSED("collapsed"), TIMEOUT("timeout"), BYPASSED("bypassed");
+
+        final String tag;
+
+        Outcome(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    private record Key(String name, Object key) {
+    }
+}
@@ -0,0 +1,238 @@
+package com.tc.backend.service;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.tc.backend.common.DashboardStats;
+import com.tc.backend.entity.CustomerCase;
+import com.tc.backend.entity.Inquiry;
+import com.tc.backend.event.CaseChangedEvent;
+import com.tc.backend.event.InquiryChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Rolling counters for the admin dashboard: inquiries per day and status, cases per industry and
+ * (through {@link ProductFacetCounter}) products per status and category. Writes adjust the counters
+ * as they happen; a periodic reconcile replaces them with fresh GROUP BY results, which also
+ * corrects any drift from rows written around the services.
+ */
+@Slf4j
+@Service
+public class StatsRollupService {
+
+    private static final String NONE = "";
+
+    private final InquiryService inquiryService;
+    private final CustomerCaseService customerCaseService;
+    private final ProductFacetCounter productFacetCounter;
+    private final int windowDays;
+
+    private long inquiryTotal;
+    private final Map<String, Long> inquiriesByStatus = new HashMap<>();
+    private final NavigableMap<LocalDate, Map<String, Long>> inquiriesByDay = new TreeMap<>();
+    // Cases are few, so each one's industry is kept to move it between buckets on update
+    private final Map<Long, String> caseIndustries = new HashMap<>();
+    private final Map<String, Long> casesByIndustry = new HashMap<>();
+    // Highest inquiry id in the last reconcile's counts; creates up to it are already included
+    private long countedThroughId;
+    private LocalDateTime reconciledAt;
+    private boolean loaded;
+
+    public StatsRollupService(InquiryService inquiryService,
+                              CustomerCaseService customerCaseService,
+                              ProductFacetCounter productFacetCounter,
+                              @Value("${tc.stats.window-days:90}") int windowDays) {
+        this.inquiryService = inquiryService;
+        this.customerCaseService = customerCaseService;
+        this.productFacetCounter = productFacetCounter;
+        this.windowDays = windowDays;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        scheduledReconcile();
+    }
+
+    @Scheduled(initialDelayString = "${tc.stats.reconcile-ms:300000}", fixedDelayString = "${tc.stats.reconcile-ms:300000}")
+    public void scheduledReconcile() {
+        try {
+            reconcile();
+        } catch (RuntimeException e) {
+            log.warn("Stats reconcile failed, keeping the current counters", e);
+        }
+    }
+
+    /**
+     * @param days how many most recent days of the per-day breakdown to include (at most the window)
+     */
+    public synchronized DashboardStats stats(int days) {
+        if (!loaded) {
+            reconcile();
+        }
+        DashboardStats stats = new DashboardStats();
+        stats.setInquiryTotal(inquiryTotal);
+        stats.setInquiriesByStatus(new TreeMap<>(inquiriesByStatus));
+        Map<String, Map<String, Long>> byDay = new LinkedHashMap<>();
+        LocalDate from = LocalDate.now().minusDays(Math.max(1, Math.min(days, windowDays)) - 1L);
+        inquiriesByDay.tailMap(from, true).forEach((day, counts) -> byDay.put(day.toString(), new TreeMap<>(counts)));
+        stats.setInquiriesByDay(byDay);
+        stats.setProducts(productFacetCounter.counts());
+        stats.setCaseTotal(caseIndustries.size());
+        stats.setCasesByIndustry(new TreeMap<>(casesByIndustry));
+        stats.setReconciledAt(reconciledAt);
+        return stats;
+    }
+
+    /**
+     * Replaces the counters with fresh GROUP BY results. Queries run under the lock, so events
+     * committed meanwhile wait and then apply on top. The inquiry counts come from one statement,
+     * so they are one snapshot, and carry the highest id counted. A create event at or below that
+     * id is already in the counts and is skipped. Status changes and deletes are not keyed per row.
+     * One that commits just before the reconcile reads, while its event applies only after, is
+     * counted twice. So is a create whose lower id commits after a higher one was counted. Either
+     * is off by that one row until the next reconcile.
+     */
+    public synchronized void reconcile() {
+        LocalDate firstDay = LocalDate.now().minusDays(windowDays - 1L);
+        // Rows before the window share one group per status; firstDay is a date, safe to inline
+        String day = "CASE WHEN create_time >= '" + firstDay + "' THEN DATE(create_time) END";
+
+        Map<String, Long> byStatus = new HashMap<>();
+        NavigableMap<LocalDate, Map<String, Long>> byDay = new TreeMap<>();
+        long total = 0;
+        long maxId = 0;
+        for (Map<String, Object> row : inquiryService.listMaps(new QueryWrapper<Inquiry>()
+                .select("status", day + " AS create_day", "COUNT(*) AS cnt", "MAX(id) AS max_id")
+                .groupBy("status", day))) {
+            long n = number(row.get("cnt"));
+            total += n;
+            maxId = Math.max(maxId, number(row.get("max_id")));
+            String status = Objects.toString(row.get("status"), NONE);
+            if (NONE.equals(status)) {
+                continue;
+            }
+            add(byStatus, status, n);
+            LocalDate created = toDate(row.get("create_day"));
+            if (created != null) {
+                byDay.computeIfAbsent(created, d -> new HashMap<>()).put(status, n);
+            }
+        }
+
+        List<CustomerCase> cases = customerCaseService.list(new LambdaQueryWrapper<CustomerCase>()
+                .select(CustomerCase::getId, CustomerCase::getIndustry));
+
+        inquiryTotal = total;
+        countedThroughId = maxId;
+        inquiriesByStatus.clear();
+        inquiriesByStatus.putAll(byStatus);
+        inquiriesByDay.clear();
+        inquiriesByDay.putAll(byDay);
+        caseIndustries.clear();
+        casesByIndustry.clear();
+        for (CustomerCase c : cases) {
+            moveCase(c.getId(), Objects.toString(c.getIndustry(), NONE));
+        }
+        reconciledAt = LocalDateTime.now();
+        loaded = true;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onInquiryChanged(InquiryChangedEvent event) {
+        if (!loaded) {
+            return;
+        }
+        Inquiry after = event.getAfter();
+        if (event.getBefore() == null && after != null && after.getId() != null && after.getId() <= countedThroughId) {
+            return;
+        }
+        if (event.getBefore() != null) {
+            countInquiry(event.getBefore(), -1);
+        }
+        if (event.getAfter() != null) {
+            countInquiry(event.getAfter(), 1);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onCaseChanged(CaseChangedEvent event) {
+        if (!loaded) {
+            return;
+        }
+        CustomerCase current = event.isDeleted() ? null : customerCaseService.getById(event.getCaseId());
+        moveCase(event.getCaseId(), current == null ? null : Objects.toString(current.getIndustry(), NONE));
+    }
+
+    private void countInquiry(Inquiry inquiry, long delta) {
+        inquiryTotal += delta;
+        String status = inquiry.getStatus();
+        if (status == null) {
+            return;
+        }
+        add(inquiriesByStatus, status, delta);
+        if (inquiry.getCreateTime() != null) {
+            LocalDate day = inquiry.getCreateTime().toLocalDate();
+            if (!day.isBefore(LocalDate.now().minusDays(windowDays - 1L))) {
+                Map<String, Long> counts = inquiriesByDay.computeIfAbsent(day, d -> new HashMap<>());
+                add(counts, status, delta);
+                if (counts.isEmpty()) {
+                    inquiriesByDay.remove(day);
+                }
+            }
+        }
+    }
+
+    private void moveCase(Long id, String industry) {
+        String previous = industry == null ? caseIndustries.remove(id) : caseIndustries.put(id, industry);
+        if (Objects.equals(previous, industry)) {
+            return;
+        }
+        if (previous != null && !NONE.equals(previous)) {
+            add(casesByIndustry, previous, -1);
+        }
+        if (industry != null && !NONE.equals(industry)) {
+            add(casesByIndustry, industry, 1);
+        }
+    }
+
+    private static void add(Map<String, Long> counts, String key, long delta) {
+        long n = counts.getOrDefault(key, 0L) + delta;
+        if (n > 0) {
+            counts.put(key, n);
+        } else {
+            counts.remove(key);
+        }
+    }
+
+    private static long number(Object value) {
+        return value instanceof Number n ? n.longValue() : 0L;
+    }
+
+    private static LocalDate toDate(Object value) {
+        if (value instanceof Date d) {
+            return d.toLocalDate();
+        }
+        if (value instanceof LocalDate d) {
+            return d;
+        }
+        if (value instanceof LocalDateTime t) {
+            return t.toLocalDate();
+        }
+        return value == null ? null : LocalDate.parse(value.toString().substring(0, 10));
+    }
+}
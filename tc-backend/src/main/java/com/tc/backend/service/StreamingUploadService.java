@@ -0,0 +1,141 @@
+package com.tc.backend.service;
+
+import com.tc.backend.common.FileTypeSniffer;
+import com.tc.backend.common.UploadResult;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Reads a raw request body straight into the upload directory. The hash and the file type are
+ * worked out while the bytes go by, so the only other disk operation is the final rename.
+ */
+@Service
+@RequiredArgsConstructor
+public class StreamingUploadService {
+
+    private static final int BUFFER_BYTES = 64 * 1024;
+
+    private final UploadStorageService uploadStorageService;
+    private final UploadQuota uploadQuota;
+
+    @Value("${tc.upload.max-file-bytes:209715200}")
+    private long maxFileBytes;
+
+    /**
+     * @param declaredLength Content-Length of the request, or -1 when chunked
+     * @param owner          key for the per-uploader quota
+     * @throws UploadRejectedException when a limit or the type check fails; nothing is left on disk
+     */
+    public UploadResult receive(InputStream body, long declaredLength, String owner) throws IOException {
+        if (declaredLength > maxFileBytes) {
+            throw new UploadRejectedException(413, "File exceeds " + maxFileBytes + " bytes");
+        }
+
+        Path tmp = Files.createDirectories(uploadStorageService.uploadRoot().resolve(".tmp"))
+                .resolve(UUID.randomUUID() + ".part");
+        MessageDigest digest = sha256();
+        byte[] header = new byte[FileTypeSniffer.HEADER_BYTES];
+        int headerLength = 0;
+        String extension = null;
+        long total = 0;
+
+        try (ReadableByteChannel in = Channels.newChannel(body);
+             FileChannel out = FileChannel.open(tmp, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocate(BUFFER_BYTES);
+            int n;
+            while ((n = in.read(buffer)) != -1) {
+                if (n == 0) {
+                    continue;
+                }
+                // total is what has been reserved, and is what the catch below releases
+                if (total + n > maxFileBytes) {
+                    throw new UploadRejectedException(413, "File exceeds " + maxFileBytes + " bytes");
+                }
+                if (!uploadQuota.tryReserve(owner, n)) {
+                    throw new UploadRejectedException(429, "Upload allowance used up, please try again later");
+                }
+                total += n;
+                buffer.flip();
+
+                if (extension == null && headerLength < header.length) {
+                    int take = Math.min(header.length - headerLength, buffer.remaining());
+                    buffer.duplicate().get(header, headerLength, take);
+                    headerLength += take;
+                    if (headerLength == header.length) {
+                        extension = sniff(header, headerLength);
+                    }
+                }
+
+                digest.update(buffer.duplicate());
+                while (buffer.hasRemaining()) {
+                    out.write(buffer);
+                }
+                buffer.clear();
+            }
+            if (total == 0) {
+                throw new UploadRejectedException(400, "File is empty");
+            }
+            if (extension == null) {
+                extension = sniff(header, headerLength);
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tmp);
+            uploadQuota.release(owner, total);
+            throw e;
+        }
+
+        boolean committed = false;
+        try {
+            UploadResult result = uploadStorageService.commit(tmp, HexFormat.of().formatHex(digest.digest()), extension);
+            committed = true;
+            return result;
+        } finally {
+            if (!committed) {
+                Files.deleteIfExists(tmp);
+                uploadQuota.release(owner, total);
+            }
+        }
+    }
+
+    private static String sniff(byte[] header, int length) {
+        String extension = FileTypeSniffer.extensionOf(header, length);
+        if (extension == null) {
+            throw new UploadRejectedException(415, "Unsupported file type");
+        }
+        return extension;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Getter
+    public static class UploadRejectedException extends RuntimeException {
+        private final int code;
+
+        public UploadRejectedException(int code, String message) {
+            super(message);
+            this.code = code;
+        }
+    }
+}
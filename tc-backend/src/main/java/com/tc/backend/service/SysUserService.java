@@ -2,9 +2,35 @@ package com.tc.backend.service;
 
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import com.tc.backend.entity.SysUser;
+import com.tc.backend.event.SysUserChangedEvent;
 import com.tc.backend.mapper.SysUserMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
+import java.io.Serializable;
+
 @Service
+@RequiredArgsConstructor
 public class SysUserService extends ServiceImpl<SysUserMapper, SysUser> {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public boolean updateById(SysUser entity) {
+        boolean updated = super.updateById(entity);
+        if (updated) {
+            eventPublisher.publishEvent(new SysUserChangedEvent(entity.getId()));
+        }
+        return updated;
+    }
+
+    @Override
+    public boolean removeById(Serializable id) {
+        boolean removed = super.removeById(id);
+        if (removed) {
+            eventPublisher.publishEvent(new SysUserChangedEvent(((Number) id).longValue()));
+        }
+        return removed;
+    }
 }
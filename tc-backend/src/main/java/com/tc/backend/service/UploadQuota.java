@@ -0,0 +1,62 @@
+package com.tc.backend.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Per-uploader byte allowance over a fixed time window. Bytes are reserved while a stream is
+ * read and released again if the upload is aborted.
+ */
+@Component
+public class UploadQuota {
+
+    private final long maxBytesPerWindow;
+    private final long windowMillis;
+
+    private final Map<String, Window> windows = new ConcurrentHashMap<>();
+
+    public UploadQuota(@Value("${tc.upload.user-max-bytes:1073741824}") long maxBytesPerWindow,
+                       @Value("${tc.upload.user-window-minutes:60}") long windowMinutes) {
+        this.maxBytesPerWindow = maxBytesPerWindow;
+        this.windowMillis = windowMinutes * 60_000;
+    }
+
+    public boolean tryReserve(String owner, long bytes) {
+        long now = System.currentTimeMillis();
+        AtomicBoolean granted = new AtomicBoolean();
+        windows.compute(owner, (k, w) -> {
+            if (w == null || now - w.start >= windowMillis) {
+                w = new Window(now);
+            }
+            if (w.bytes + bytes <= maxBytesPerWindow) {
+                w.bytes += bytes;
+                granted.set(true);
+            }
+            return w;
+        });
+        if (windows.size() > 10_000) {
+            windows.values().removeIf(w -> now - w.start >= windowMillis);
+        }
+        return granted.get();
+    }
+
+    public void release(String owner, long bytes) {
+        windows.computeIfPresent(owner, (k, w) -> {
+            w.bytes = Math.max(0, w.bytes - bytes);
+            return w;
+        });
+    }
+
+    private static final class Window {
+        private final long start;
+        private long bytes;
+
+        private Window(long start) {
+            this.start = start;
+        }
+    }
+}
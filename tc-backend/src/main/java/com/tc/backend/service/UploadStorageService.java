@@ -0,0 +1,279 @@
+package com.tc.backend.service;
+
+import com.tc.backend.common.UploadResult;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Content-addressed upload storage. Files are named after their SHA-256, so uploading the same
+ * bytes twice reuses the stored copy, and images get resized variants rendered on a bounded pool.
+ */
+@Slf4j
+@Service
+public class UploadStorageService {
+
+    public static final String UPLOAD_DIR = "uploads";
+    public static final String URL_PREFIX = "/uploads/";
+
+    private static final Set<String> IMAGE_EXTENSIONS = Set.of(".jpg", ".jpeg", ".png", ".gif", ".bmp");
+
+    // Variant name -> target width in pixels, smallest first
+    private static final Map<String, Integer> VARIANT_WIDTHS = new LinkedHashMap<>();
+
+    static {
+        VARIANT_WIDTHS.put("thumb", 240);
+        VARIANT_WIDTHS.put("card", 600);
+        VARIANT_WIDTHS.put("detail", 1200);
+    }
+
+    private static final int LARGEST_VARIANT = 1200;
+    // Sources decode to at most about this many pixels, (2 * LARGEST_VARIANT)^2
+    private static final long DECODE_PIXELS = 4L * LARGEST_VARIANT * LARGEST_VARIANT;
+    // Longest side over shortest side; wide banners pass, endless strips do not
+    private static final int MAX_ASPECT = 20;
+
+    private final Path root = Paths.get(UPLOAD_DIR);
+    private final ThreadPoolExecutor imageWorkers;
+    private final boolean webpAvailable = ImageIO.getImageWritersByFormatName("webp").hasNext();
+    private final long maxImagePixels;
+
+    public UploadStorageService(@Value("${tc.upload.image-workers:2}") int workers,
+                                @Value("${tc.upload.image-queue:32}") int queueSize,
+                                @Value("${tc.upload.max-image-pixels:40000000}") long maxImagePixels) {
+        this.maxImagePixels = maxImagePixels;
+        AtomicInteger seq = new AtomicInteger();
+        this.imageWorkers = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize),
+                r -> new Thread(r, "image-worker-" + seq.incrementAndGet()),
+                // A full queue slows the uploader down instead of failing the upload
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        imageWorkers.shutdown();
+    }
+
+    public UploadResult store(InputStream in, String originalFilename) throws IOException {
+        String extension = extensionOf(originalFilename);
+        Path tmp = Files.createDirectories(root.resolve(".tmp")).resolve(UUID.randomUUID() + extension);
+        MessageDigest digest = sha256();
+        try (InputStream hashing = new DigestInputStream(in, digest)) {
+            Files.copy(hashing, tmp);
+        }
+        return commit(tmp, HexFormat.of().formatHex(digest.digest()), extension);
+    }
+
+    /**
+     * Moves a fully written temp file to its content-addressed home and renders image variants.
+     * The temp file must live under the upload root so the move is a rename.
+     */
+    public UploadResult commit(Path tmp, String sha256, String extension) throws IOException {
+        String relative = sha256.substring(0, 2) + "/" + sha256 + extension;
+        Path target = root.resolve(relative);
+        Files.createDirectories(target.getParent());
+        if (Files.exists(target)) {
+            Files.delete(tmp);
+        } else {
+            Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE);
+        }
+
+        UploadResult result = new UploadResult();
+        result.setUrl(URL_PREFIX + relative);
+        result.setSha256(sha256);
+        if (IMAGE_EXTENSIONS.contains(extension)) {
+            result.setVariants(renderVariants(target, sha256));
+        }
+        return result;
+    }
+
+    public Path uploadRoot() {
+        return root;
+    }
+
+    public static String extensionOf(String filename) {
+        return filename != null && filename.contains(".")
+                ? filename.substring(filename.lastIndexOf(".")).toLowerCase(Locale.ROOT)
+                : "";
+    }
+
+    private Map<String, String> renderVariants(Path original, String sha256) {
+        Future<Map<String, String>> job = imageWorkers.submit(() -> writeVariants(original, sha256));
+        try {
+            return job.get(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            job.cancel(true);
+            log.warn("Could not render variants for {}", original, e);
+        }
+        // The original is stored either way; callers just fall back to it
+        return new LinkedHashMap<>();
+    }
+
+    private Map<String, String> writeVariants(Path original, String sha256) throws IOException {
+        Path dir = original.getParent();
+        String urlDir = URL_PREFIX + dir.getFileName() + "/";
+        Map<String, String> urls = new LinkedHashMap<>();
+        BufferedImage source = null;
+
+        for (Map.Entry<String, Integer> variant : VARIANT_WIDTHS.entrySet()) {
+            String jpg = sha256 + "_" + variant.getKey() + ".jpg";
+            String webp = sha256 + "_" + variant.getKey() + ".webp";
+            boolean jpgMissing = !Files.exists(dir.resolve(jpg));
+            boolean webpMissing = webpAvailable && !Files.exists(dir.resolve(webp));
+            if (jpgMissing || webpMissing) {
+                if (source == null) {
+                    source = decode(original);
+                    if (source == null) {
+                        return urls;
+                    }
+                }
+                BufferedImage scaled = scale(source, variant.getValue());
+                if (jpgMissing) {
+                    write(scaled, "jpg", dir.resolve(jpg));
+                }
+                if (webpMissing) {
+                    write(scaled, "webp", dir.resolve(webp));
+                }
+            }
+            urls.put(variant.getKey(), urlDir + jpg);
+            if (webpAvailable) {
+                urls.put(variant.getKey() + "_webp", urlDir + webp);
+            }
+        }
+        return urls;
+    }
+
+    /**
+     * Decodes the image, subsampling large sources so a 40-megapixel photo is never fully
+     * expanded in memory just to produce a 1200px variant. The dimensions come from the header
+     * first: sources over tc.upload.max-image-pixels or MAX_ASPECT get no variants at all, since a
+     * small compressed file can declare an enormous canvas.
+     */
+    private BufferedImage decode(Path file) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(file.toFile())) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                long pixels = (long) width * height;
+                if (pixels > maxImagePixels || Math.max(width, height) > (long) MAX_ASPECT * Math.min(width, height)) {
+                    log.warn("Not rendering variants for {}: {}x{} px is over the image limits", file, width, height);
+                    return null;
+                }
+                int step = (int) Math.max(Math.max(1, width / (2 * LARGEST_VARIANT)),
+                        Math.ceil(Math.sqrt((double) pixels / DECODE_PIXELS)));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(step, step, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private static BufferedImage scale(BufferedImage source, int targetWidth) {
+        int width = Math.min(targetWidth, source.getWidth());
+        BufferedImage current = source;
+        // Halve step by step; a single bilinear pass from far above the target looks jagged
+        do {
+            current = resize(current, Math.max(width, current.getWidth() / 2));
+        } while (current.getWidth() > width);
+        return current;
+    }
+
+    private static BufferedImage resize(BufferedImage image, int width) {
+        int height = Math.max(1, (int) Math.round((double) image.getHeight() * width / image.getWidth()));
+        BufferedImage resized = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = resized.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            // Variants are JPEG, so flatten any transparency onto white
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, width, height);
+            g.drawImage(image, 0, 0, width, height, null);
+        } finally {
+            g.dispose();
+        }
+        return resized;
+    }
+
+    private static void write(BufferedImage image, String format, Path target) throws IOException {
+        Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName(format);
+        if (!writers.hasNext()) {
+            return;
+        }
+        ImageWriter writer = writers.next();
+        Path tmp = target.resolveSibling(target.getFileName() + ".part");
+        try (OutputStream out = Files.newOutputStream(tmp);
+             ImageOutputStream ios = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(ios);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            if (param.canWriteCompressed()) {
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                if (param.getCompressionTypes() != null && param.getCompressionType() == null) {
+                    param.setCompressionType(param.getCompressionTypes()[0]);
+                }
+                param.setCompressionQuality(0.82f);
+            }
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -1,11 +1,25 @@
 package com.tc.backend.service.impl;
 
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import com.tc.backend.entity.Category;
 import com.tc.backend.mapper.CategoryMapper;
 import com.tc.backend.service.CategoryService;
+import com.tc.backend.service.SingleFlight;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
 @Service
+@RequiredArgsConstructor
 public class CategoryServiceImpl extends ServiceImpl<CategoryMapper, Category> implements CategoryService {
+
+    private final SingleFlight singleFlight;
+
+    @Override
+    public List<Category> listOrdered() {
+        return singleFlight.load("category", "*all", () -> list(new LambdaQueryWrapper<Category>()
+                .orderByAsc(Category::getSortOrder)));
+    }
 }
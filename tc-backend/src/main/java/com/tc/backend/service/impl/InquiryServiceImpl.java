@@ -1,11 +1,67 @@
 package com.tc.backend.service.impl;
 
+import com.baomidou.mybatisplus.core.conditions.Wrapper;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import com.tc.backend.entity.Inquiry;
+import com.tc.backend.event.InquiryChangedEvent;
 import com.tc.backend.mapper.InquiryMapper;
 import com.tc.backend.service.InquiryService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
+import java.io.Serializable;
+import java.util.List;
+import java.util.function.Consumer;
+
 @Service
+@RequiredArgsConstructor
 public class InquiryServiceImpl extends ServiceImpl<InquiryMapper, Inquiry> implements InquiryService {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public int insertBatch(List<Inquiry> inquiries) {
+        if (inquiries.isEmpty()) {
+            return 0;
+        }
+        int inserted = baseMapper.insertBatch(inquiries);
+        inquiries.forEach(i -> eventPublisher.publishEvent(new InquiryChangedEvent(null, i)));
+        return inserted;
+    }
+
+    @Override
+    public boolean save(Inquiry entity) {
+        boolean saved = super.save(entity);
+        if (saved) {
+            eventPublisher.publishEvent(new InquiryChangedEvent(null, entity));
+        }
+        return saved;
+    }
+
+    // Updates may be partial, so both sides are read back rather than taken from the argument
+    @Override
+    public boolean updateById(Inquiry entity) {
+        Inquiry before = baseMapper.selectById(entity.getId());
+        boolean updated = super.updateById(entity);
+        if (updated) {
+            eventPublisher.publishEvent(new InquiryChangedEvent(before, baseMapper.selectById(entity.getId())));
+        }
+        return updated;
+    }
+
+    @Override
+    public boolean removeById(Serializable id) {
+        Inquiry before = baseMapper.selectById(id);
+        boolean removed = super.removeById(id);
+        if (removed) {
+            eventPublisher.publishEvent(new InquiryChangedEvent(before, null));
+        }
+        return removed;
+    }
+
+    @Override
+    public void stream(Wrapper<Inquiry> wrapper, Consumer<Inquiry> consumer) {
+        baseMapper.streamAll(wrapper, context -> consumer.accept(context.getResultObject()));
+    }
 }
@@ -0,0 +1,202 @@
+package com.tc.backend.service.impl;
+
+import com.tc.backend.common.CjkTokenizer;
+import com.tc.backend.entity.Product;
+import com.tc.backend.event.ProductChangedEvent;
+import com.tc.backend.event.ProductsImportedEvent;
+import com.tc.backend.mapper.ProductMapper;
+import com.tc.backend.service.ProductSearchService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * In-process inverted index over name, sku, description and spec values.
+ * Every query token must match; the last one may also match as a prefix so typeahead works.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "tc.search", name = "engine", havingValue = "inverted", matchIfMissing = true)
+public class InvertedIndexProductSearchService implements ProductSearchService {
+
+    private static final int SKU_WEIGHT = 4;
+    private static final int NAME_WEIGHT = 3;
+    private static final int SPEC_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+
+    // A one-letter prefix can match a huge part of the vocabulary; only expand this many terms
+    private static final int MAX_PREFIX_TERMS = 64;
+
+    private final ProductMapper productMapper;
+
+    private final ConcurrentSkipListMap<String, Map<Long, Integer>> postings = new ConcurrentSkipListMap<>();
+    private final Map<Long, Set<String>> docTokens = new ConcurrentHashMap<>();
+    private final Map<Long, String> names = new ConcurrentHashMap<>();
+
+    private volatile boolean loaded;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        ensureLoaded();
+    }
+
+    @Override
+    public List<Long> search(String query) {
+        ensureLoaded();
+        List<String> tokens = CjkTokenizer.tokenize(query);
+        if (tokens.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Double> scores = null;
+        for (int i = 0; i < tokens.size(); i++) {
+            Map<Long, Double> matched = match(tokens.get(i), i == tokens.size() - 1);
+            if (scores == null) {
+                scores = matched;
+            } else {
+                Map<Long, Double> both = new HashMap<>();
+                for (Map.Entry<Long, Double> e : scores.entrySet()) {
+                    Double other = matched.get(e.getKey());
+                    if (other != null) {
+                        both.put(e.getKey(), e.getValue() + other);
+                    }
+                }
+                scores = both;
+            }
+            if (scores.isEmpty()) {
+                return List.of();
+            }
+        }
+
+        List<Map.Entry<Long, Double>> ranked = new ArrayList<>(scores.entrySet());
+        ranked.sort(Map.Entry.<Long, Double>comparingByValue(Comparator.reverseOrder())
+                .thenComparing(Map.Entry.comparingByKey(Comparator.reverseOrder())));
+        return ranked.stream().map(Map.Entry::getKey).toList();
+    }
+
+    @Override
+    public List<String> suggest(String prefix, int limit) {
+        Set<String> suggestions = new LinkedHashSet<>();
+        for (Long id : search(prefix)) {
+            String name = names.get(id);
+            if (name != null) {
+                suggestions.add(name);
+            }
+            if (suggestions.size() >= limit) {
+                break;
+            }
+        }
+        return new ArrayList<>(suggestions);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onProductChanged(ProductChangedEvent event) {
+        if (!loaded) {
+            return;
+        }
+        Product product = event.isDeleted() ? null : productMapper.selectById(event.getProductId());
+        if (product == null) {
+            remove(event.getProductId());
+        } else {
+            index(product);
+        }
+    }
+
+    // Imports only add or overwrite, so re-indexing every row in place is enough
+    @EventListener
+    public synchronized void onProductsImported(ProductsImportedEvent event) {
+        if (!loaded) {
+            return;
+        }
+        productMapper.selectList(null).forEach(this::index);
+    }
+
+    private Map<Long, Double> match(String token, boolean allowPrefix) {
+        Map<Long, Double> matched = new HashMap<>();
+        Map<Long, Integer> exact = postings.get(token);
+        if (exact != null) {
+            exact.forEach((id, weight) -> matched.put(id, weight.doubleValue()));
+        }
+        if (allowPrefix) {
+            ConcurrentNavigableMap<String, Map<Long, Integer>> expansions =
+                    postings.subMap(token, false, token + Character.MAX_VALUE, false);
+            int terms = 0;
+            for (Map<Long, Integer> docs : expansions.values()) {
+                // Prefix hits count for half so an exact term still ranks first
+                docs.forEach((id, weight) -> matched.merge(id, weight / 2.0, Math::max));
+                if (++terms >= MAX_PREFIX_TERMS) {
+                    break;
+                }
+            }
+        }
+        return matched;
+    }
+
+    private void ensureLoaded() {
+        if (!loaded) {
+            synchronized (this) {
+                if (!loaded) {
+                    List<Product> products = productMapper.selectList(null);
+                    products.forEach(this::index);
+                    loaded = true;
+                    log.info("Product search index built, documents: {}, terms: {}", products.size(), postings.size());
+                }
+            }
+        }
+    }
+
+    private void index(Product product) {
+        remove(product.getId());
+
+        Map<String, Integer> weights = new HashMap<>();
+        addField(weights, product.getSku(), SKU_WEIGHT);
+        addField(weights, product.getName(), NAME_WEIGHT);
+        addField(weights, product.getDescription(), DESCRIPTION_WEIGHT);
+        if (product.getSpecs() != null) {
+            product.getSpecs().values().forEach(v -> addField(weights, v, SPEC_WEIGHT));
+        }
+
+        weights.forEach((token, weight) ->
+                postings.computeIfAbsent(token, k -> new ConcurrentHashMap<>()).put(product.getId(), weight));
+        docTokens.put(product.getId(), weights.keySet());
+        if (product.getName() != null) {
+            names.put(product.getId(), product.getName());
+        }
+    }
+
+    private void remove(Long id) {
+        Set<String> tokens = docTokens.remove(id);
+        names.remove(id);
+        if (tokens == null) {
+            return;
+        }
+        for (String token : tokens) {
+            postings.computeIfPresent(token, (k, docs) -> {
+                docs.remove(id);
+                return docs.isEmpty() ? null : docs;
+            });
+        }
+    }
+
+    private static void addField(Map<String, Integer> weights, String text, int weight) {
+        for (String token : CjkTokenizer.tokenize(text)) {
+            weights.merge(token, weight, Integer::sum);
+        }
+    }
+}
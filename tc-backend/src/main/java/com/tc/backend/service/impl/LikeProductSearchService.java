@@ -0,0 +1,49 @@
+package com.tc.backend.service.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.tc.backend.config.QueryPlanInterceptor;
+import com.tc.backend.entity.Product;
+import com.tc.backend.mapper.ProductMapper;
+import com.tc.backend.service.ProductSearchService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * The original name LIKE '%term%' lookup, kept as a fallback engine and for comparisons.
+ */
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "tc.search", name = "engine", havingValue = "like")
+public class LikeProductSearchService implements ProductSearchService {
+
+    private final ProductMapper productMapper;
+
+    @Override
+    public List<Long> search(String query) {
+        return productMapper.selectList(new LambdaQueryWrapper<Product>()
+                        .select(Product::getId)
+                        .like(Product::getName, query)
+                        .orderByDesc(Product::getCreateTime)
+                        // A leading wildcard cannot use an index
+                        .comment(QueryPlanInterceptor.FULL_SCAN))
+                .stream()
+                .map(Product::getId)
+                .toList();
+    }
+
+    @Override
+    public List<String> suggest(String prefix, int limit) {
+        return productMapper.selectList(new LambdaQueryWrapper<Product>()
+                        .select(Product::getName)
+                        .likeRight(Product::getName, prefix)
+                        .orderByDesc(Product::getCreateTime)
+                        .last("LIMIT " + limit))
+                .stream()
+                .map(Product::getName)
+                .distinct()
+                .toList();
+    }
+}
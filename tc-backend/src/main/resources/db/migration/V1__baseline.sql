@@ -1,7 +1,3 @@
-DROP DATABASE IF EXISTS tc_db;
-CREATE DATABASE tc_db CHARACTER SET utf8mb4 COLLATE utf8mb4_unicode_ci;
-USE tc_db;
-
 -- System User
 CREATE TABLE sys_user (
     id BIGINT AUTO_INCREMENT PRIMARY KEY,
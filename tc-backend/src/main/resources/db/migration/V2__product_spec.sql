@@ -0,0 +1,9 @@
+-- Product specs, one row per attribute, mirrored from product.specs for filtering.
+-- Rows for products written before this table existed are backfilled at startup.
+CREATE TABLE IF NOT EXISTS product_spec (
+    product_id BIGINT NOT NULL,
+    spec_key VARCHAR(100) NOT NULL,
+    spec_value VARCHAR(255) NOT NULL,
+    PRIMARY KEY (product_id, spec_key),
+    KEY idx_spec_key_value (spec_key, spec_value, product_id)
+);
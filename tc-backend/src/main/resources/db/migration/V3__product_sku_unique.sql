@@ -0,0 +1,14 @@
+-- The bulk import upserts on sku
+-- The admin form used to store a missing sku as '', which the key would allow only once
+UPDATE product SET sku = NULL WHERE TRIM(sku) = '';
+
+-- Later rows sharing a sku get their id appended to it, so the key can be added and the
+-- clash is still visible in the admin list. GROUP BY keeps MySQL materializing the derived table.
+UPDATE product
+SET sku = CONCAT(LEFT(sku, 49 - LENGTH(CAST(id AS CHAR))), '-', id)
+WHERE sku IS NOT NULL
+  AND id > (SELECT keep.first_id
+            FROM (SELECT sku, MIN(id) AS first_id FROM product WHERE sku IS NOT NULL GROUP BY sku) keep
+            WHERE keep.sku = product.sku);
+
+ALTER TABLE product ADD UNIQUE KEY uk_product_sku (sku);
@@ -0,0 +1,20 @@
+-- One index per list/filter path, leading with the equality column and ending with the sort
+-- columns so the LIMIT is served in index order. Newest-first lists get descending keys, with
+-- id repeated for the seek paging tie-break.
+
+-- Catalog by category or featured flag, newest first, and the unfiltered newest-first listing
+CREATE INDEX idx_product_category_time ON product (category, create_time DESC, id DESC);
+CREATE INDEX idx_product_featured_time ON product (is_featured, create_time DESC, id DESC);
+CREATE INDEX idx_product_create_time ON product (create_time DESC, id DESC);
+
+-- Inquiry list and seek paging, the stats day window; exports filtered by status and date
+CREATE INDEX idx_inquiry_create_time ON inquiry (create_time DESC, id DESC);
+CREATE INDEX idx_inquiry_status_time ON inquiry (status, create_time);
+
+-- Content sections in display order
+CREATE INDEX idx_content_section_sort ON content_item (section, sort_order);
+
+-- Case list and seek paging
+CREATE INDEX idx_case_create_time ON customer_case (create_time DESC, id DESC);
+
+-- The login lookup on sys_user.username is served by its UNIQUE key
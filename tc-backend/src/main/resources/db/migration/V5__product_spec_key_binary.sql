@@ -0,0 +1,4 @@
+-- Spec keys are matched exactly: ProductService.normalizeSpecs and the catalog filters treat
+-- "Size" and "size" as two keys, so the primary key must too (the server default collation,
+-- utf8mb4_unicode_ci, would reject them as duplicates).
+ALTER TABLE product_spec MODIFY spec_key VARCHAR(100) NOT NULL COLLATE utf8mb4_bin;
@@ -0,0 +1,110 @@
+package com.tc.backend.config;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.tc.backend.common.CursorPage;
+import com.tc.backend.controller.CaseController;
+import com.tc.backend.controller.ContentController;
+import com.tc.backend.controller.InquiryController;
+import com.tc.backend.entity.Inquiry;
+import com.tc.backend.entity.Product;
+import com.tc.backend.entity.SysUser;
+import com.tc.backend.service.InquiryService;
+import com.tc.backend.service.ProductService;
+import com.tc.backend.service.SysUserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Starts the application on an H2 database in MySQL mode, migrated by Flyway and filled past
+ * tc.metrics.explain-min-rows, drives the list and filter paths that reach the database and fails
+ * if any statement run so far (startup included) is planned as a full table scan.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.url=jdbc:h2:mem:query-plans;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=VALUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "tc.metrics.explain-check=warn",
+        "mybatis-plus.configuration.log-impl=org.apache.ibatis.logging.nologging.NoLoggingImpl"
+})
+class QueryPlanInterceptorTest {
+
+    private static final int PRODUCTS = 10_000;
+    private static final int INQUIRIES = 5_000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private QueryPlanInterceptor queryPlanInterceptor;
+    @Autowired
+    private ProductService productService;
+    @Autowired
+    private InquiryService inquiryService;
+    @Autowired
+    private SysUserService sysUserService;
+    @Autowired
+    private InquiryController inquiryController;
+    @Autowired
+    private CaseController caseController;
+    @Autowired
+    private ContentController contentController;
+
+    @Test
+    void listAndFilterQueriesUseAnIndex() {
+        seed();
+
+        // The catalog is listed from memory; these are the same filters as queries
+        productService.page(new Page<>(1, 10), new LambdaQueryWrapper<Product>()
+                .eq(Product::getCategory, "工业传动")
+                .orderByDesc(Product::getCreateTime));
+        productService.page(new Page<>(1, 10), new LambdaQueryWrapper<Product>()
+                .eq(Product::getIsFeatured, true)
+                .orderByDesc(Product::getCreateTime));
+        productService.getById(1L);
+        productService.findBySkus(List.of("TC-1", "TC-2"));
+
+        inquiryController.list(1, 10, null, false);
+        CursorPage<?> first = (CursorPage<?>) inquiryController.list(1, 10, "", false).getData();
+        inquiryController.list(1, 10, first.getNextCursor(), false);
+        // The export's filters; the export itself streams with MySQL's fetch size, which H2 rejects
+        LocalDateTime today = LocalDate.now().atStartOfDay();
+        inquiryService.list(new LambdaQueryWrapper<Inquiry>()
+                .eq(Inquiry::getStatus, "unread")
+                .ge(Inquiry::getCreateTime, today.minusDays(30))
+                .lt(Inquiry::getCreateTime, today.plusDays(1))
+                .orderByAsc(Inquiry::getId));
+        inquiryService.list(new LambdaQueryWrapper<Inquiry>()
+                .ge(Inquiry::getCreateTime, today.minusDays(7))
+                .orderByAsc(Inquiry::getId));
+
+        caseController.list(1, 10, null, false);
+        caseController.list(1, 10, "", false);
+
+        contentController.getBySection("home_advantage", null, null);
+
+        // AuthController.login's lookup; the controller itself needs a web request for the session
+        sysUserService.getOne(new LambdaQueryWrapper<SysUser>().eq(SysUser::getUsername, "admin"));
+
+        assertThat(queryPlanInterceptor.violations()).isEmpty();
+    }
+
+    private void seed() {
+        jdbcTemplate.update("INSERT INTO product (name, sku, category, price, status, is_featured, create_time) "
+                + "SELECT CONCAT('Part ', x), CONCAT('TC-', x), CASEWHEN(MOD(x, 2) = 0, '工业传动', '航空航天'), 100, "
+                + "'In Stock', MOD(x, 10) = 0, DATEADD('MINUTE', -x, CURRENT_TIMESTAMP) "
+                + "FROM SYSTEM_RANGE(1, ?) AS r(x)", PRODUCTS);
+        jdbcTemplate.update("INSERT INTO inquiry (name, email, content, status, create_time) "
+                + "SELECT CONCAT('Visitor ', x), CONCAT('visitor', x, '@example.com'), 'Quote request', "
+                + "CASEWHEN(MOD(x, 3) = 0, 'read', 'unread'), DATEADD('MINUTE', -37 * x, CURRENT_TIMESTAMP) "
+                + "FROM SYSTEM_RANGE(1, ?) AS r(x)", INQUIRIES);
+    }
+}
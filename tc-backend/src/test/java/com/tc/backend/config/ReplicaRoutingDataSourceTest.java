@@ -0,0 +1,169 @@
+package com.tc.backend.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Routing over a primary and two replicas, each an embedded H2 database holding its own name.
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private static final long STICKY_MS = 5000;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final String suffix = Long.toString(System.nanoTime());
+    private HikariDataSource primary;
+    private HikariDataSource replicaA;
+    private HikariDataSource replicaB;
+    private ReplicaRoutingDataSource routing;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        primary = pool("primary", url("primary"));
+        replicaA = pool("replica-a", url("replica-a"));
+        replicaB = pool("replica-b", url("replica-b"));
+        // Replica B serves three reads for each of A's
+        routing = new ReplicaRoutingDataSource(primary, List.of(replicaA, replicaB), List.of(1, 3),
+                STICKY_MS, 0, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReplicaRoutingDataSource.setLastWrite(0);
+        routing.destroy();
+        primary.close();
+    }
+
+    @Test
+    void connectionsOutsideAReadGoToThePrimary() throws SQLException {
+        try (Connection connection = routing.getConnection()) {
+            assertThat(name(connection)).isEqualTo("primary");
+        }
+    }
+
+    @Test
+    void readsAreSplitByWeight() throws SQLException {
+        Map<String, Integer> served = reads(4000);
+
+        assertThat(served).doesNotContainKey("primary");
+        assertThat(served.get("replica-b") / 4000.0).isBetween(0.70, 0.80);
+        assertThat(served.get("replica-a") / 4000.0).isBetween(0.20, 0.30);
+    }
+
+    @Test
+    void readsAfterAWriteStayOnThePrimary() throws SQLException {
+        ReplicaRoutingDataSource.markWrite();
+        assertThat(reads(50)).containsOnlyKeys("primary");
+
+        ReplicaRoutingDataSource.setLastWrite(System.currentTimeMillis() - STICKY_MS);
+        assertThat(reads(50)).doesNotContainKey("primary");
+        assertThat(meterRegistry.get("tc.datasource.reads").tag("reason", "sticky").counter().count()).isEqualTo(50);
+    }
+
+    @Test
+    void failedReplicaIsSkippedAndThePrimaryServesWhenNoneIsLeft() throws SQLException {
+        replicaB.close();
+        assertThat(reads(100)).containsOnlyKeys("replica-a");
+
+        replicaA.close();
+        assertThat(reads(20)).containsOnlyKeys("primary");
+        assertThat(meterRegistry.get("tc.datasource.reads").tag("reason", "fallback").counter().count()).isEqualTo(20);
+    }
+
+    @Test
+    void replicaReturnsToRotationOnceAHealthCheckPasses() throws SQLException {
+        // A replica database that does not exist yet, as if it were down from the start
+        String lateUrl = "jdbc:h2:mem:late-" + suffix + ";DB_CLOSE_DELAY=-1";
+        HikariDataSource late = pool("late", lateUrl + ";IFEXISTS=TRUE", false);
+        ReplicaRoutingDataSource withLate = new ReplicaRoutingDataSource(primary, List.of(replicaA, late), List.of(1, 1),
+                STICKY_MS, 0, meterRegistry);
+        try {
+            assertThat(reads(withLate, 20)).containsOnlyKeys("replica-a");
+            withLate.checkReplicas();
+            assertThat(reads(withLate, 20)).containsOnlyKeys("replica-a");
+
+            createNode(lateUrl, "late");
+            withLate.checkReplicas();
+            assertThat(reads(withLate, 200)).containsOnlyKeys("replica-a", "late");
+        } finally {
+            withLate.destroy();
+        }
+    }
+
+    @Test
+    void connectionWithCredentialsComesFromThePrimary() throws SQLException {
+        try (Connection connection = routing.getConnection("sa", "")) {
+            assertThat(name(connection)).isEqualTo("primary");
+        }
+    }
+
+    private Map<String, Integer> reads(int count) throws SQLException {
+        return reads(routing, count);
+    }
+
+    private static Map<String, Integer> reads(ReplicaRoutingDataSource dataSource, int count) throws SQLException {
+        Map<String, Integer> served = new HashMap<>();
+        for (int i = 0; i < count; i++) {
+            ReplicaRoutingDataSource.beginRead();
+            try (Connection connection = dataSource.getConnection()) {
+                served.merge(name(connection), 1, Integer::sum);
+            } finally {
+                ReplicaRoutingDataSource.endRead();
+            }
+        }
+        return served;
+    }
+
+    private String url(String name) throws SQLException {
+        String url = "jdbc:h2:mem:" + name + "-" + suffix + ";DB_CLOSE_DELAY=-1";
+        createNode(url, name);
+        return url;
+    }
+
+    private static void createNode(String url, String name) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url, "sa", "");
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE node (name VARCHAR(20))");
+            statement.execute("INSERT INTO node VALUES ('" + name + "')");
+        }
+    }
+
+    private static HikariDataSource pool(String name, String url) {
+        return pool(name, url, true);
+    }
+
+    private static HikariDataSource pool(String name, String url, boolean failFast) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName(name);
+        config.setJdbcUrl(url);
+        config.setUsername("sa");
+        config.setPassword("");
+        config.setMaximumPoolSize(2);
+        config.setConnectionTimeout(250);
+        config.setInitializationFailTimeout(failFast ? 1 : -1);
+        return new HikariDataSource(config);
+    }
+
+    private static String name(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT name FROM node")) {
+            rs.next();
+            return rs.getString(1);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+import request from './request';
+import { ContentItem } from './content';
+import { Category } from './category';
+import { Product } from '../types';
+
+export interface HomeBootstrap {
+  featuredProducts: Product[] | null;
+  sections: Record<string, ContentItem[]>;
+  globalConfig: ContentItem[] | null;
+  categories: Category[] | null;
+  timings: Record<string, number>;
+  degraded: string[];
+}
+
+export const getHomeBootstrap = (params?: { sections?: string; featuredSize?: number }) => {
+  return request.get<any, HomeBootstrap>('/bootstrap/home', { params });
+};
@@ -1,11 +1,22 @@
 import request from './request';
 
-export const uploadFile = (file: File) => {
+export interface UploadResult {
+  url: string;
+  sha256: string;
+  // thumb / card / detail, plus *_webp when the server can encode WebP
+  variants: Record<string, string>;
+}
+
+export const uploadFileWithVariants = (file: File) => {
   const formData = new FormData();
   formData.append('file', file);
-  return request.post<any, string>('/file/upload', formData, {
+  return request.post<any, UploadResult>('/file/upload', formData, {
     headers: {
       'Content-Type': 'multipart/form-data',
     },
   });
 };
+
+export const uploadFile = (file: File) => {
+  return uploadFileWithVariants(file).then((res) => res.url);
+};
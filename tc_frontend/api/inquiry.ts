@@ -21,3 +21,21 @@ export const saveInquiry = (data: Partial<Inquiry>) => {
 export const deleteInquiry = (id: number) => {
   return request.delete<any, boolean>(`/inquiries/${id}`);
 };
+
+export interface InquiryStreamHandlers {
+  onCreated: (inquiry: Inquiry) => void;
+  onUpdated: (inquiry: Inquiry) => void;
+  onDeleted: (id: number) => void;
+  // Events were missed and are no longer buffered on the server; reload the list
+  onReset: () => void;
+}
+
+// Server-sent inquiry changes; the browser reconnects on its own and resumes with Last-Event-ID
+export const subscribeInquiries = (handlers: InquiryStreamHandlers) => {
+  const source = new EventSource(`${request.defaults.baseURL}/inquiries/stream`);
+  source.addEventListener('created', (e) => handlers.onCreated(JSON.parse((e as MessageEvent).data)));
+  source.addEventListener('updated', (e) => handlers.onUpdated(JSON.parse((e as MessageEvent).data)));
+  source.addEventListener('deleted', (e) => handlers.onDeleted(JSON.parse((e as MessageEvent).data).id));
+  source.addEventListener('reset', () => handlers.onReset());
+  return () => source.close();
+};
@@ -5,6 +5,16 @@ export const getProducts = (params: any) => {
   return request.get<any, { records: Product[], total: number }>('/products', { params });
 };
 
+export interface ProductFacets {
+  category: Record<string, number>;
+  status: Record<string, number>;
+  isFeatured: Record<string, number>;
+}
+
+export const getProductsWithFacets = (params: any) => {
+  return request.get<any, { records: Product[], total: number, facets: ProductFacets }>('/products', { params: { ...params, facets: true } });
+};
+
 export const getProductById = (id: string) => {
   return request.get<any, Product>(`/products/${id}`);
 };
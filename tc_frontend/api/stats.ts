@@ -0,0 +1,15 @@
+import request from './request';
+
+export interface DashboardStats {
+  inquiryTotal: number;
+  inquiriesByStatus: Record<string, number>;
+  inquiriesByDay: Record<string, Record<string, number>>;
+  products: Record<string, Record<string, number>>;
+  caseTotal: number;
+  casesByIndustry: Record<string, number>;
+  reconciledAt: string | null;
+}
+
+export const getDashboardStats = (days?: number) => {
+  return request.get<any, DashboardStats>('/stats', { params: { days } });
+};
@@ -1,5 +1,5 @@
 import React, { useEffect, useState } from 'react';
-import { getInquiries, deleteInquiry, saveInquiry, Inquiry } from '../api/inquiry';
+import { getInquiries, deleteInquiry, saveInquiry, subscribeInquiries, Inquiry } from '../api/inquiry';
 
 const ContactManagement: React.FC = () => {
   const [inquiries, setInquiries] = useState<Inquiry[]>([]);
@@ -7,6 +7,15 @@ const ContactManagement: React.FC = () => {
 
   useEffect(() => {
     fetchData();
+    // Changes from the contact form and other admins arrive over the stream instead of re-polling
+    return subscribeInquiries({
+      onCreated: (inquiry) => setInquiries((list) =>
+        list.some((i) => i.id === inquiry.id) ? list : [inquiry, ...list]),
+      onUpdated: (inquiry) => setInquiries((list) =>
+        list.map((i) => (i.id === inquiry.id ? inquiry : i))),
+      onDeleted: (id) => setInquiries((list) => list.filter((i) => i.id !== id)),
+      onReset: () => fetchData(),
+    });
   }, []);
 
   const fetchData = async () => {
@@ -25,7 +34,7 @@ const ContactManagement: React.FC = () => {
     if (!window.confirm('确定要删除这条留言吗？')) return;
     try {
       await deleteInquiry(id);
-      fetchData();
+      setInquiries((list) => list.filter((i) => i.id !== id));
     } catch (error) {
       alert('删除失败');
     }
@@ -34,7 +43,7 @@ const ContactManagement: React.FC = () => {
   const handleStatusChange = async (inquiry: Inquiry, newStatus: string) => {
     try {
       await saveInquiry({ ...inquiry, status: newStatus });
-      fetchData();
+      setInquiries((list) => list.map((i) => (i.id === inquiry.id ? { ...i, status: newStatus } : i)));
     } catch (error) {
       alert('更新状态失败');
     }
@@ -1,7 +1,22 @@
 
-import React from 'react';
+import React, { useEffect, useState } from 'react';
+import { getDashboardStats, DashboardStats } from '../api/stats';
 
 const Dashboard: React.FC = () => {
+  const [stats, setStats] = useState<DashboardStats | null>(null);
+
+  useEffect(() => {
+    getDashboardStats(7).then(setStats).catch((error) => {
+      console.error('Failed to fetch dashboard stats', error);
+    });
+  }, []);
+
+  const unread = stats?.inquiriesByStatus.unread ?? 0;
+  const today = stats?.inquiriesByDay[new Date().toLocaleDateString('sv-SE')];
+  const todayCount = today ? Object.values(today).reduce((a, b) => a + b, 0) : 0;
+  const inStock = stats?.products.status?.['In Stock'] ?? 0;
+  const productTotal = stats ? Object.values(stats.products.status ?? {}).reduce((a, b) => a + b, 0) : 0;
+
   return (
     <div className="flex-1 overflow-y-auto p-8 pt-2">
       <div className="max-w-7xl mx-auto flex flex-col gap-8 pb-12">
@@ -27,7 +42,7 @@ const Dashboard: React.FC = () => {
         <div className="flex flex-wrap justify-between items-end gap-4">
           <div className="flex flex-col gap-1">
             <h2 className="text-[32px] font-bold tracking-tight text-[#181811] dark:text-white leading-tight">首页数据概览</h2>
-            <p className="text-gray-500 text-sm font-medium">最后更新: 2024年10月25日 14:30</p>
+            <p className="text-gray-500 text-sm font-medium">最后更新: {stats?.reconciledAt ? new Date(stats.reconciledAt).toLocaleString('zh-CN') : '—'}</p>
           </div>
           <div className="flex gap-3">
             <button className="flex items-center gap-2 px-6 py-3 bg-white dark:bg-zinc-800 border border-gray-200 dark:border-zinc-700 rounded-full text-sm font-bold hover:bg-gray-50 transition-colors shadow-sm">
@@ -44,9 +59,9 @@ const Dashboard: React.FC = () => {
         {/* Stats Grid */}
         <div className="grid grid-cols-1 md:grid-cols-2 lg:grid-cols-4 gap-4">
           <StatCard title="本月总产量 (件)" value="1,240" trend="+12%" icon="factory" progress={75} />
-          <StatCard title="待处理询盘 (个)" value="8" trend="+2" icon="mark_email_unread" progress={25} />
+          <StatCard title="待处理询盘 (个)" value={stats ? String(unread) : '—'} trend={`+${todayCount}`} icon="mark_email_unread" progress={stats?.inquiryTotal ? (unread / stats.inquiryTotal) * 100 : 0} />
           <StatCard title="设备运行效率" value="98.5%" trend="-0.5%" icon="precision_manufacturing" progress={98.5} />
-          <StatCard title="库存状态" value="正常" trend="Healthy" icon="inventory" progress={100} isGreen />
+          <StatCard title="库存状态" value={stats ? `${inStock}/${productTotal}` : '—'} trend="In Stock" icon="inventory" progress={productTotal ? (inStock / productTotal) * 100 : 0} isGreen />
         </div>
 
         <div className="grid grid-cols-1 xl:grid-cols-3 gap-6">
@@ -1,7 +1,7 @@
 import React, { useEffect, useState } from 'react';
 import { Link } from 'react-router-dom';
-import { getProducts } from '../api/product';
-import { getContentBySection, ContentItem } from '../api/content';
+import { getHomeBootstrap } from '../api/bootstrap';
+import { ContentItem } from '../api/content';
 import { Product } from '../types';
 import { AdvantageCard } from '../components/AdvantageCard';
 import { ProductPreviewCard } from '../components/ProductPreviewCard';
@@ -17,13 +17,10 @@ const Home: React.FC = () => {
 
   const fetchData = async () => {
     try {
-      const [prodRes, advRes, heroRes] = await Promise.all([
-        getProducts({ featured: true, size: 4 }),
-        getContentBySection('home_advantage'),
-        getContentBySection('home_hero')
-      ]);
-      setProducts(prodRes.records);
-      setAdvantages(advRes);
+      const res = await getHomeBootstrap({ sections: 'home_advantage,home_hero', featuredSize: 4 });
+      setProducts(res.featuredProducts || []);
+      setAdvantages(res.sections.home_advantage || []);
+      const heroRes = res.sections.home_hero;
       if (heroRes && heroRes.length > 0) {
         setHero(heroRes[0]);
       }
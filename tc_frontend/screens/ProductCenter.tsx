@@ -1,12 +1,13 @@
 import React, { useEffect, useState } from 'react';
 import { Link } from 'react-router-dom';
-import { getProducts } from '../api/product';
+import { getProductsWithFacets, ProductFacets } from '../api/product';
 import { Product } from '../types';
 
 const ProductCenter: React.FC = () => {
   const [products, setProducts] = useState<Product[]>([]);
   const [loading, setLoading] = useState(true);
   const [category, setCategory] = useState('');
+  const [facets, setFacets] = useState<ProductFacets | null>(null);
 
   useEffect(() => {
     fetchProducts();
@@ -15,8 +16,9 @@ const ProductCenter: React.FC = () => {
   const fetchProducts = async () => {
     setLoading(true);
     try {
-      const res = await getProducts({ category: category || undefined });
+      const res = await getProductsWithFacets({ category: category || undefined });
       setProducts(res.records);
+      setFacets(res.facets);
     } catch (error) {
       console.error(error);
     } finally {
@@ -25,6 +27,11 @@ const ProductCenter: React.FC = () => {
   };
 
   const categories = ['全部', '工业传动', '航空航天', '医疗设备', '液压系统', '精密组件'];
+  const countOf = (cat: string) => {
+    if (!facets) return undefined;
+    if (cat === '全部') return Object.values(facets.isFeatured).reduce((a, b) => a + b, 0);
+    return facets.category[cat] || 0;
+  };
 
   return (
     <div className="min-h-screen bg-gray-50 dark:bg-zinc-950 py-12">
@@ -44,6 +51,7 @@ const ProductCenter: React.FC = () => {
               }`}
             >
               {cat}
+              {countOf(cat) !== undefined && <span className="ml-1 opacity-60">({countOf(cat)})</span>}
             </button>
           ))}
         </div>